@@ -0,0 +1,75 @@
+package com.fnl33.featuretoggle.benchmark;
+
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.service.AllowListDiff;
+import com.fnl33.featuretoggle.service.evaluation.AllowList;
+import com.fnl33.featuretoggle.service.evaluation.AllowLists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cost of an allow-list replacement: the diff computed by {@code ToggleService.syncAllowList},
+ * rebuilding the snapshot allow list, and applying a single-value change to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class AllowListMutationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int allowListSize;
+
+    @Param({"STRING", "NUMBER"})
+    public DataType dataType;
+
+    @Param({"0.01", "0.1"})
+    public double changeRatio;
+
+    private List<String> currentValues;
+    private Set<String> requestedValues;
+    private AllowList allowList;
+    private String addedValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final int changed = (int) (allowListSize * changeRatio);
+        currentValues = new ArrayList<>(EvaluationFixtures.values(dataType, 0, allowListSize));
+        requestedValues = new LinkedHashSet<>(EvaluationFixtures.values(dataType, changed, allowListSize + changed));
+        allowList = AllowLists.of(dataType, currentValues);
+        addedValue = EvaluationFixtures.value(dataType, allowListSize);
+    }
+
+    @Benchmark
+    public AllowListDiff diff() {
+        return AllowListDiff.between(currentValues, requestedValues);
+    }
+
+    @Benchmark
+    public AllowList rebuild() {
+        return AllowLists.of(dataType, requestedValues);
+    }
+
+    @Benchmark
+    public AllowList addSingleValue() {
+        return AllowLists.with(dataType, allowList, addedValue);
+    }
+}
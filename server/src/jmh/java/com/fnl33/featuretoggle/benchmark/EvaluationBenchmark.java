@@ -0,0 +1,84 @@
+package com.fnl33.featuretoggle.benchmark;
+
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.service.EvaluationResult;
+import com.fnl33.featuretoggle.service.EvaluationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of {@link EvaluationService#evaluate} across allow-list sizes, data types
+ * and hit ratios, single-threaded and with concurrent readers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class EvaluationBenchmark {
+
+    private static final int QUERY_COUNT = 4096;
+
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    public int allowListSize;
+
+    @Param({"STRING", "NUMBER"})
+    public DataType dataType;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double hitRatio;
+
+    private EvaluationService evaluationService;
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        evaluationService = EvaluationFixtures.evaluationService(dataType, allowListSize);
+        final Random random = new Random(42);
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            final boolean hit = random.nextDouble() < hitRatio;
+            final int index = random.nextInt(allowListSize);
+            queries[i] = EvaluationFixtures.value(dataType, hit ? index : allowListSize + index);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EvaluationResult evaluate(QueryCursor cursor) {
+        return evaluationService.evaluate(EvaluationFixtures.TOGGLE_NAME, cursor.next(queries));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public EvaluationResult evaluateConcurrently(QueryCursor cursor) {
+        return evaluationService.evaluate(EvaluationFixtures.TOGGLE_NAME, cursor.next(queries));
+    }
+
+    @State(Scope.Thread)
+    public static class QueryCursor {
+
+        private int position;
+
+        String next(String[] queries) {
+            final String query = queries[position];
+            position = (position + 1) & (queries.length - 1);
+            return query;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fnl33.featuretoggle.benchmark;
+
+import com.fnl33.featuretoggle.config.EvaluationMetricsProperties;
+import com.fnl33.featuretoggle.config.HeavyHitterProperties;
+import com.fnl33.featuretoggle.domain.Attribute;
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.EvaluationService;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationCounters;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationSnapshotHolder;
+import com.fnl33.featuretoggle.service.evaluation.HeavyHitters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory fixtures for the benchmarks. The evaluation service is wired with repositories that serve
+ * generated values, so the snapshot is built by the same code path as in the application.
+ */
+final class EvaluationFixtures {
+
+    static final String TOGGLE_NAME = "benchmark-toggle";
+    static final String ATTRIBUTE_NAME = "subject";
+
+    // Spreads NUMBER values so the bitmap is not a single dense run
+    private static final long NUMBER_STRIDE = 37;
+
+    private EvaluationFixtures() {
+    }
+
+    static EvaluationService evaluationService(DataType dataType, int allowListSize) {
+        final Attribute attribute = Attribute.builder()
+                .name(ATTRIBUTE_NAME)
+                .dataType(dataType)
+                .build();
+        final Toggle toggle = Toggle.builder()
+                .name(TOGGLE_NAME)
+                .enabled(true)
+                .attribute(attribute)
+                .build();
+        final ToggleRepository toggleRepository = repository(ToggleRepository.class, (method, args) ->
+                switch (method.getName()) {
+                    case "findAllWithAttribute" -> List.of(toggle);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        final AllowListEntryRepository allowListEntryRepository = repository(AllowListEntryRepository.class, (method, args) ->
+                switch (method.getName()) {
+                    case "findValuesByToggleName" -> values(dataType, 0, allowListSize);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        final MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+        final EvaluationSnapshotHolder snapshotHolder = new EvaluationSnapshotHolder(
+                toggleRepository, allowListEntryRepository, changeLogRepository(), new NoOpTransactionManager(), metricsService);
+        snapshotHolder.refreshAll();
+        return new EvaluationService(snapshotHolder, metricsService,
+                new EvaluationCounters(metricsService, new EvaluationMetricsProperties(), snapshotHolder),
+                new HeavyHitters(new HeavyHitterProperties(), metricsService));
+    }
+
+    /**
+     * The i-th generated value; values at or beyond the allow-list size are guaranteed misses.
+     */
+    static String value(DataType dataType, long index) {
+        if (dataType == DataType.NUMBER) {
+            return Long.toString(index * NUMBER_STRIDE);
+        }
+        return "user-" + index + "@tenant-" + (index % 100) + ".example.com";
+    }
+
+    /**
+     * Values {@code [from, to)} generated on access, so multi-million fixtures are not held twice.
+     */
+    static List<String> values(DataType dataType, int from, int to) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return value(dataType, from + index);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    private static ChangeLogRepository changeLogRepository() {
+        return new ChangeLogRepository(null) {
+            @Override
+            public long currentRevision() {
+                return 0;
+            }
+        };
+    }
+
+    private static <T> T repository(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> handler.apply(method, args)));
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
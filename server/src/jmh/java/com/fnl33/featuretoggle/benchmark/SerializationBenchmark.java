@@ -0,0 +1,98 @@
+package com.fnl33.featuretoggle.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fnl33.featuretoggle.domain.Attribute;
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.dto.BatchEvaluationResponse;
+import com.fnl33.featuretoggle.dto.EvaluationResponse;
+import com.fnl33.featuretoggle.dto.ToggleDetailResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the evaluation and toggle responses, using the mapper configuration the
+ * application gets from Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int batchSize;
+
+    private ObjectMapper objectMapper;
+    private EvaluationResponse evaluationResponse;
+    private ToggleDetailResponse toggleDetailResponse;
+    private BatchEvaluationResponse batchEvaluationResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        evaluationResponse = new EvaluationResponse(
+                EvaluationFixtures.TOGGLE_NAME, true, "user-42@tenant-42.example.com", "Value is in allow list");
+
+        final Instant now = Instant.now();
+        final Attribute attribute = Attribute.builder()
+                .name(EvaluationFixtures.ATTRIBUTE_NAME)
+                .description("Subject of the evaluation")
+                .dataType(DataType.STRING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        toggleDetailResponse = ToggleDetailResponse.from(Toggle.builder()
+                .name(EvaluationFixtures.TOGGLE_NAME)
+                .description("Benchmark toggle")
+                .enabled(true)
+                .attribute(attribute)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        final List<EvaluationResponse> results = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            results.add(new EvaluationResponse(
+                    EvaluationFixtures.TOGGLE_NAME, i % 2 == 0, EvaluationFixtures.value(DataType.STRING, i), "Value is in allow list"));
+        }
+        batchEvaluationResponse = new BatchEvaluationResponse(results);
+    }
+
+    @Benchmark
+    public byte[] evaluationResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(evaluationResponse);
+    }
+
+    @Benchmark
+    public byte[] toggleDetailResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toggleDetailResponse);
+    }
+
+    @Benchmark
+    public byte[] batchEvaluationResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batchEvaluationResponse);
+    }
+}
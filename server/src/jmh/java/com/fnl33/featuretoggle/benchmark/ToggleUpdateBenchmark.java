@@ -0,0 +1,89 @@
+package com.fnl33.featuretoggle.benchmark;
+
+import com.fnl33.featuretoggle.FeatureToggleApplication;
+import com.fnl33.featuretoggle.domain.Attribute;
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.service.AttributeService;
+import com.fnl33.featuretoggle.service.ToggleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link ToggleService#update} against an in-memory H2 database, alternating between two
+ * allow lists that differ by {@code changeRatio}. This covers the diff, the batched inserts and deletes,
+ * auditing and the snapshot refresh after commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToggleUpdateBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int allowListSize;
+
+    @Param({"0.01", "0.1"})
+    public double changeRatio;
+
+    private ConfigurableApplicationContext context;
+    private ToggleService toggleService;
+    private List<String> firstValues;
+    private List<String> secondValues;
+    private boolean useSecond;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FeatureToggleApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        toggleService = context.getBean(ToggleService.class);
+
+        final int changed = Math.max(1, (int) (allowListSize * changeRatio));
+        firstValues = new ArrayList<>(EvaluationFixtures.values(DataType.STRING, 0, allowListSize));
+        secondValues = new ArrayList<>(EvaluationFixtures.values(DataType.STRING, changed, allowListSize + changed));
+
+        context.getBean(AttributeService.class).create(Attribute.builder()
+                .name(EvaluationFixtures.ATTRIBUTE_NAME)
+                .dataType(DataType.STRING)
+                .build());
+        toggleService.create(EvaluationFixtures.TOGGLE_NAME, null, true, EvaluationFixtures.ATTRIBUTE_NAME, firstValues);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Toggle update() {
+        useSecond = !useSecond;
+        return toggleService.update(EvaluationFixtures.TOGGLE_NAME, null, true, EvaluationFixtures.ATTRIBUTE_NAME,
+                useSecond ? secondValues : firstValues);
+    }
+}
@@ -0,0 +1,37 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "allow-list-import")
+public class AllowListImportProperties {
+
+    /**
+     * Number of values written and committed per transaction.
+     */
+    @Min(1)
+    private int chunkSize = 5000;
+
+    /**
+     * Load chunks through PostgreSQL COPY into a staging table instead of batched inserts.
+     */
+    private boolean copyEnabled = false;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isCopyEnabled() {
+        return copyEnabled;
+    }
+
+    public void setCopyEnabled(boolean copyEnabled) {
+        this.copyEnabled = copyEnabled;
+    }
+}
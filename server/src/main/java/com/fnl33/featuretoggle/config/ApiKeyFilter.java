@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,6 +15,9 @@ public class ApiKeyFilter extends OncePerRequestFilter {
 
     public static final String HEADER_NAME = "X-API-Key";
 
+    private static final List<String> MONITORING_ENDPOINTS = List.of(
+            "/actuator/health", "/actuator/info", "/actuator/metrics", "/actuator/prometheus");
+
     private final ApiKeyProperties apiKeyProperties;
 
     public ApiKeyFilter(ApiKeyProperties apiKeyProperties) {
@@ -23,9 +27,9 @@ public class ApiKeyFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        // Allow actuator endpoints without API key for monitoring
+        // Allow the monitoring actuator endpoints without API key; others, such as hotspots, expose request data
         final String requestPath = request.getRequestURI();
-        if (requestPath.startsWith("/actuator")) {
+        if (isMonitoringEndpoint(requestPath)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -39,4 +43,13 @@ public class ApiKeyFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private static boolean isMonitoringEndpoint(String requestPath) {
+        for (String endpoint : MONITORING_ENDPOINTS) {
+            if (requestPath.equals(endpoint) || requestPath.startsWith(endpoint + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,154 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    public enum Mode {
+        /**
+         * Audit rows are inserted in the caller's transaction.
+         */
+        SYNC,
+        /**
+         * Audit records are queued once the caller's transaction commits and written in batches; when the
+         * queue is full the record is inserted in the caller's transaction.
+         */
+        AFTER_COMMIT,
+        /**
+         * Like {@code AFTER_COMMIT}, but records that do not fit in the queue are dropped.
+         */
+        LOSSY
+    }
+
+    public enum ExpiredPartitions {
+        DROP,
+        /**
+         * Detach the partition and keep it as a standalone table, e.g. for archiving.
+         */
+        DETACH
+    }
+
+    @NotNull
+    private Mode mode = Mode.AFTER_COMMIT;
+
+    /**
+     * Number of records the queue holds, rounded up to a power of two.
+     */
+    @Min(2)
+    private int queueCapacity = 8192;
+
+    /**
+     * Records written per JDBC batch; the writer also flushes early once this many are queued.
+     */
+    @Min(1)
+    private int batchSize = 500;
+
+    /**
+     * Maximum time a queued record waits before the writer flushes it.
+     */
+    @NotNull
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Maintain the monthly partitions of {@code audit_logs} on PostgreSQL; ignored on other databases.
+     * Without maintenance new months have no partition and their rows collect in the default partition.
+     */
+    private boolean partitioningEnabled = true;
+
+    /**
+     * Number of monthly partitions kept created beyond the current month.
+     */
+    @Min(1)
+    private int partitionsAhead = 3;
+
+    /**
+     * Number of full months of audit records kept before the current one; older partitions expire.
+     */
+    @Min(1)
+    private int retentionMonths = 12;
+
+    @NotNull
+    private ExpiredPartitions expiredPartitions = ExpiredPartitions.DROP;
+
+    @NotNull
+    private Duration partitionMaintenanceInterval = Duration.ofHours(6);
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isPartitioningEnabled() {
+        return partitioningEnabled;
+    }
+
+    public void setPartitioningEnabled(boolean partitioningEnabled) {
+        this.partitioningEnabled = partitioningEnabled;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    public void setPartitionsAhead(int partitionsAhead) {
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    public ExpiredPartitions getExpiredPartitions() {
+        return expiredPartitions;
+    }
+
+    public void setExpiredPartitions(ExpiredPartitions expiredPartitions) {
+        this.expiredPartitions = expiredPartitions;
+    }
+
+    public Duration getPartitionMaintenanceInterval() {
+        return partitionMaintenanceInterval;
+    }
+
+    public void setPartitionMaintenanceInterval(Duration partitionMaintenanceInterval) {
+        this.partitionMaintenanceInterval = partitionMaintenanceInterval;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "changes")
+public class ChangeFeedProperties {
+
+    /**
+     * Longest a changes request may wait for a new revision.
+     */
+    @NotNull
+    private Duration maxWait = Duration.ofSeconds(60);
+
+    /**
+     * Interval between checks of the global revision, which wake requests waiting for changes committed
+     * on other instances. Changes committed on this instance wake them immediately.
+     */
+    @NotNull
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long changes are kept; clients further behind have to reload every toggle.
+     */
+    @NotNull
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Interval between purges of changes older than the retention.
+     */
+    @NotNull
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
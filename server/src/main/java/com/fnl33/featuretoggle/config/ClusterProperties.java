@@ -0,0 +1,72 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+
+    /**
+     * Announce committed changes over PostgreSQL NOTIFY and listen for the changes of other instances,
+     * so their in-process caches are refreshed. Requires PostgreSQL.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Notification channel shared by every instance on the database.
+     */
+    @NotBlank
+    @Pattern(regexp = "[a-z_][a-z0-9_]*")
+    private String channel = "feature_toggle_changes";
+
+    /**
+     * Interval between checks of the global revision, which catch up on changes whose notification was
+     * missed, for instance while the listening connection was down.
+     */
+    @NotNull
+    private Duration revisionCheckInterval = Duration.ofSeconds(30);
+
+    /**
+     * Delay before the listening connection is reopened after it failed.
+     */
+    @NotNull
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public Duration getRevisionCheckInterval() {
+        return revisionCheckInterval;
+    }
+
+    public void setRevisionCheckInterval(Duration revisionCheckInterval) {
+        this.revisionCheckInterval = revisionCheckInterval;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+}
@@ -0,0 +1,25 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "evaluation-metrics")
+public class EvaluationMetricsProperties {
+
+    /**
+     * Number of toggles that get their own evaluation counters; evaluations of any further toggle are
+     * counted under {@code toggle="other"}.
+     */
+    @Min(0)
+    private int maxToggles = 500;
+
+    public int getMaxToggles() {
+        return maxToggles;
+    }
+
+    public void setMaxToggles(int maxToggles) {
+        this.maxToggles = maxToggles;
+    }
+}
@@ -0,0 +1,71 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "flight-recorder")
+public class FlightRecorderProperties {
+
+    /**
+     * How long a recording started without a duration runs before it stops by itself.
+     */
+    @NotNull
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /**
+     * Longest recording that can be requested.
+     */
+    @NotNull
+    private Duration maxDuration = Duration.ofMinutes(15);
+
+    /**
+     * Disk space a recording may use; the oldest data is discarded beyond it.
+     */
+    @NotNull
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * JDK event settings a recording starts from, "default" or "profile" (more detail, more overhead),
+     * or the path to a custom .jfc file.
+     */
+    @NotBlank
+    private String settings = "profile";
+
+    public Duration getDefaultDuration() {
+        return defaultDuration;
+    }
+
+    public void setDefaultDuration(Duration defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+}
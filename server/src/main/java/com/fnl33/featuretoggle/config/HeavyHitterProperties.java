@@ -0,0 +1,102 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "heavy-hitters")
+public class HeavyHitterProperties {
+
+    /**
+     * Track the most evaluated (toggle, value) pairs and unknown toggle names.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Track one in this many evaluations, chosen at random; reported counts are scaled back up. Heavy
+     * hitters stand out just as well in a sample, at a fraction of the cost per evaluation.
+     */
+    @Min(1)
+    private int sampleEvery = 8;
+
+    /**
+     * Counters per count-min sketch row, rounded up to a power of two. Counts are overestimated by at
+     * most about {@code e / width} of the evaluations in a window.
+     */
+    @Min(16)
+    @Max(1 << 20)
+    private int sketchWidth = 4096;
+
+    /**
+     * Rows of the count-min sketch; each row lowers the chance of a bad overestimate.
+     */
+    @Min(1)
+    @Max(16)
+    private int sketchDepth = 4;
+
+    /**
+     * Number of heavy hitters reported per list.
+     */
+    @Min(1)
+    @Max(1000)
+    private int topK = 20;
+
+    /**
+     * Length of a counting window; counts start from zero in every window.
+     */
+    @NotNull
+    private Duration window = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
@@ -0,0 +1,257 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+
+    /**
+     * Maximum number of concurrent deliveries to a single callback host.
+     */
+    @Min(1)
+    private int maxConcurrencyPerHost = 16;
+
+    /**
+     * How long a notification is held before delivery; further changes to the toggle within the window
+     * are delivered with it.
+     */
+    @NotNull
+    private Duration debounceWindow = Duration.ofSeconds(2);
+
+    /**
+     * Interval between full reloads of the subscription index, which pick up registrations made on
+     * other instances.
+     */
+    @NotNull
+    private Duration subscriptionRefreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * Delay between outbox polls when there is no backlog.
+     */
+    @NotNull
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Number of outbox rows claimed and delivered concurrently per poll.
+     */
+    @Min(1)
+    private int batchSize = 100;
+
+    /**
+     * How long claimed rows stay invisible to other pollers; rows become due again after this if the
+     * claiming instance stops before recording the outcome.
+     */
+    @NotNull
+    private Duration claimTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Delivery attempts before a notification is dead-lettered.
+     */
+    @Min(1)
+    private int maxAttempts = 10;
+
+    /**
+     * How long dead-lettered notifications are kept for inspection before they are deleted.
+     */
+    @NotNull
+    private Duration deadLetterRetention = Duration.ofDays(7);
+
+    /**
+     * Interval between purges of dead-lettered notifications older than the retention.
+     */
+    @NotNull
+    private Duration deadLetterPurgeInterval = Duration.ofHours(1);
+
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    @NotNull
+    private Duration maxBackoff = Duration.ofMinutes(15);
+
+    @NotNull
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    @NotNull
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Smoothed share of failed or slow deliveries at which a callback host's circuit opens.
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double circuitFailureRateThreshold = 0.5;
+
+    /**
+     * Deliveries to a host before its failure rate is trusted to open the circuit.
+     */
+    @Min(1)
+    private int circuitMinimumCalls = 5;
+
+    /**
+     * Deliveries slower than this count as failures for the circuit.
+     */
+    @NotNull
+    private Duration circuitSlowCallThreshold = Duration.ofSeconds(3);
+
+    /**
+     * How long a circuit stays open before a probe delivery is let through; doubled every time the probe
+     * fails, up to {@code circuitMaxOpenDuration}.
+     */
+    @NotNull
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    @NotNull
+    private Duration circuitMaxOpenDuration = Duration.ofMinutes(10);
+
+    public int getMaxConcurrencyPerHost() {
+        return maxConcurrencyPerHost;
+    }
+
+    public void setMaxConcurrencyPerHost(int maxConcurrencyPerHost) {
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+    }
+
+    public Duration getDebounceWindow() {
+        return debounceWindow;
+    }
+
+    public void setDebounceWindow(Duration debounceWindow) {
+        this.debounceWindow = debounceWindow;
+    }
+
+    public Duration getSubscriptionRefreshInterval() {
+        return subscriptionRefreshInterval;
+    }
+
+    public void setSubscriptionRefreshInterval(Duration subscriptionRefreshInterval) {
+        this.subscriptionRefreshInterval = subscriptionRefreshInterval;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getClaimTimeout() {
+        return claimTimeout;
+    }
+
+    public void setClaimTimeout(Duration claimTimeout) {
+        this.claimTimeout = claimTimeout;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getDeadLetterRetention() {
+        return deadLetterRetention;
+    }
+
+    public void setDeadLetterRetention(Duration deadLetterRetention) {
+        this.deadLetterRetention = deadLetterRetention;
+    }
+
+    public Duration getDeadLetterPurgeInterval() {
+        return deadLetterPurgeInterval;
+    }
+
+    public void setDeadLetterPurgeInterval(Duration deadLetterPurgeInterval) {
+        this.deadLetterPurgeInterval = deadLetterPurgeInterval;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public double getCircuitFailureRateThreshold() {
+        return circuitFailureRateThreshold;
+    }
+
+    public void setCircuitFailureRateThreshold(double circuitFailureRateThreshold) {
+        this.circuitFailureRateThreshold = circuitFailureRateThreshold;
+    }
+
+    public int getCircuitMinimumCalls() {
+        return circuitMinimumCalls;
+    }
+
+    public void setCircuitMinimumCalls(int circuitMinimumCalls) {
+        this.circuitMinimumCalls = circuitMinimumCalls;
+    }
+
+    public Duration getCircuitSlowCallThreshold() {
+        return circuitSlowCallThreshold;
+    }
+
+    public void setCircuitSlowCallThreshold(Duration circuitSlowCallThreshold) {
+        this.circuitSlowCallThreshold = circuitSlowCallThreshold;
+    }
+
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    public void setCircuitOpenDuration(Duration circuitOpenDuration) {
+        this.circuitOpenDuration = circuitOpenDuration;
+    }
+
+    public Duration getCircuitMaxOpenDuration() {
+        return circuitMaxOpenDuration;
+    }
+
+    public void setCircuitMaxOpenDuration(Duration circuitMaxOpenDuration) {
+        this.circuitMaxOpenDuration = circuitMaxOpenDuration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "stream")
+public class StreamProperties {
+
+    /**
+     * Interval between heartbeat comments, which keep idle connections open through proxies and detect
+     * clients that went away.
+     */
+    @NotNull
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long a stream stays open before the client has to reconnect.
+     */
+    @NotNull
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Events buffered for a client that is not reading; the stream is closed when it falls further behind.
+     */
+    @Min(1)
+    private int maxQueuedEvents = 256;
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxQueuedEvents() {
+        return maxQueuedEvents;
+    }
+
+    public void setMaxQueuedEvents(int maxQueuedEvents) {
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+}
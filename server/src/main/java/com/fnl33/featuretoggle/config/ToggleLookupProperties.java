@@ -0,0 +1,42 @@
+package com.fnl33.featuretoggle.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "toggle-lookup")
+public class ToggleLookupProperties {
+
+    /**
+     * How long a toggle name that was not found is answered with 404 without querying the database.
+     * Creating the toggle on this instance clears it right away.
+     */
+    @NotNull
+    private Duration unknownNameTtl = Duration.ofSeconds(30);
+
+    /**
+     * Unknown toggle names remembered at most; further names are looked up every time until entries expire.
+     */
+    @Min(0)
+    private int unknownNameMaxEntries = 10_000;
+
+    public Duration getUnknownNameTtl() {
+        return unknownNameTtl;
+    }
+
+    public void setUnknownNameTtl(Duration unknownNameTtl) {
+        this.unknownNameTtl = unknownNameTtl;
+    }
+
+    public int getUnknownNameMaxEntries() {
+        return unknownNameMaxEntries;
+    }
+
+    public void setUnknownNameMaxEntries(int unknownNameMaxEntries) {
+        this.unknownNameMaxEntries = unknownNameMaxEntries;
+    }
+}
@@ -1,31 +1,42 @@
 package com.fnl33.featuretoggle.controller;
 
+import com.fnl33.featuretoggle.dto.AllowListImportResponse;
 import com.fnl33.featuretoggle.dto.ToggleDetailResponse;
+import com.fnl33.featuretoggle.dto.PageCursor;
 import com.fnl33.featuretoggle.dto.PagedResponse;
 import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.service.KeysetPage;
+import com.fnl33.featuretoggle.service.AllowListImportFormat;
+import com.fnl33.featuretoggle.service.AllowListImportResult;
+import com.fnl33.featuretoggle.service.AllowListImportService;
 import com.fnl33.featuretoggle.service.ToggleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/toggles/{name}/allow-list")
 public class AllowListController {
 
     private static final Logger logger = LoggerFactory.getLogger(AllowListController.class);
     private final ToggleService toggleService;
+    private final AllowListImportService allowListImportService;
 
-    public AllowListController(ToggleService toggleService) {
+    public AllowListController(ToggleService toggleService, AllowListImportService allowListImportService) {
         this.toggleService = toggleService;
+        this.allowListImportService = allowListImportService;
     }
 
     @PostMapping
@@ -56,11 +67,33 @@ public class AllowListController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<AllowListImportResponse> importAllowList(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "false") boolean header,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+
+        logger.info("Importing allow list for toggle name: {} as {}", name, contentType);
+
+        final AllowListImportResult result = allowListImportService.importValues(
+                name,
+                AllowListImportFormat.from(contentType),
+                header,
+                body
+        );
+
+        return ResponseEntity.ok(AllowListImportResponse.from(result));
+    }
+
     @GetMapping
-    public ResponseEntity<PagedResponse<String>> getAllowList(@PathVariable String name, Pageable pageable) {
+    public ResponseEntity<PagedResponse<String>> getAllowList(
+            @PathVariable String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size) {
         logger.debug("Fetching allow list for toggle name: {}", name);
 
-        final Page<String> pagedAllowList = toggleService.findAllowListValues(name, pageable);
+        final KeysetPage<String> pagedAllowList = toggleService.findAllowListValues(name, PageCursor.decode(cursor), size);
         final PagedResponse<String> allowList = PagedResponse.from(pagedAllowList);
 
         return ResponseEntity.ok(allowList);
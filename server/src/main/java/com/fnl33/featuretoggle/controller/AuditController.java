@@ -0,0 +1,73 @@
+package com.fnl33.featuretoggle.controller;
+
+import com.fnl33.featuretoggle.dto.AuditLogResponse;
+import com.fnl33.featuretoggle.dto.PageCursor;
+import com.fnl33.featuretoggle.dto.PagedResponse;
+import com.fnl33.featuretoggle.repository.AuditLogFilter;
+import com.fnl33.featuretoggle.service.AuditService;
+import com.fnl33.featuretoggle.service.KeysetPage;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for reading and exporting the audit trail
+ */
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditController.class);
+    private final AuditService auditService;
+
+    public AuditController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @GetMapping
+    public ResponseEntity<PagedResponse<AuditLogResponse>> getAuditLogs(
+            @RequestParam(required = false) String resource,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String toggleName,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size) {
+        logger.debug("Fetching audit logs: resource={} action={} toggleName={} from={} to={}",
+                resource, action, toggleName, from, to);
+
+        final AuditLogFilter filter = auditService.filter(resource, action, toggleName, from, to);
+        final PagedResponse<AuditLogResponse> logs = PagedResponse.from(
+            auditService.findLogs(filter, PageCursor.decode(cursor), size).map(AuditLogResponse::from)
+        );
+
+        return ResponseEntity.ok(logs);
+    }
+
+    @GetMapping("/export")
+    public void exportAuditLogs(
+            @RequestParam(required = false) String resource,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String toggleName,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            HttpServletResponse response) throws IOException {
+        logger.info("Exporting audit logs: resource={} action={} toggleName={} from={} to={}",
+                resource, action, toggleName, from, to);
+
+        final AuditLogFilter filter = auditService.filter(resource, action, toggleName, from, to);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"");
+        auditService.export(filter, response.getOutputStream());
+    }
+}
@@ -0,0 +1,38 @@
+package com.fnl33.featuretoggle.controller;
+
+import com.fnl33.featuretoggle.dto.ChangesResponse;
+import com.fnl33.featuretoggle.service.KeysetPage;
+import com.fnl33.featuretoggle.service.changes.ChangeFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * REST Controller for reading changes by global revision
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeController.class);
+    private final ChangeFeed changeFeed;
+
+    public ChangeController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @GetMapping
+    public DeferredResult<ChangesResponse> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "0s") String wait,
+            @RequestParam(defaultValue = "" + KeysetPage.MAX_SIZE) int size) {
+
+        logger.debug("Fetching changes since revision {} waiting up to {}", since, wait);
+
+        return changeFeed.changesSince(since, wait, size);
+    }
+}
@@ -3,13 +3,13 @@ package com.fnl33.featuretoggle.controller;
 import com.fnl33.featuretoggle.dto.ClientRegistrationRequest;
 import com.fnl33.featuretoggle.dto.ClientRegistrationResponse;
 import com.fnl33.featuretoggle.domain.ClientRegistration;
+import com.fnl33.featuretoggle.dto.PageCursor;
 import com.fnl33.featuretoggle.dto.PagedResponse;
+import com.fnl33.featuretoggle.service.KeysetPage;
 import com.fnl33.featuretoggle.service.ClientRegistrationService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -58,10 +58,12 @@ public class ClientController {
     }
 
     @GetMapping
-    public ResponseEntity<PagedResponse<ClientRegistrationResponse>> getAllClients(Pageable pageable) {
+    public ResponseEntity<PagedResponse<ClientRegistrationResponse>> getAllClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size) {
         logger.debug("Fetching all clients");
         
-        final Page<ClientRegistration> pagedClient = clientRegistrationService.findAll(pageable);
+        final KeysetPage<ClientRegistration> pagedClient = clientRegistrationService.findAll(PageCursor.decode(cursor), size);
         final PagedResponse<ClientRegistrationResponse> clients = PagedResponse.from(
             pagedClient.map(ClientRegistrationResponse::from)
         );
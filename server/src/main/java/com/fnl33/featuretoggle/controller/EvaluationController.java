@@ -1,18 +1,26 @@
 package com.fnl33.featuretoggle.controller;
 
+import com.fnl33.featuretoggle.dto.BatchEvaluationRequest;
+import com.fnl33.featuretoggle.dto.BatchEvaluationResponse;
+import com.fnl33.featuretoggle.dto.EvaluationRequest;
 import com.fnl33.featuretoggle.dto.EvaluationResponse;
+import com.fnl33.featuretoggle.dto.SubjectEvaluationResponse;
 import com.fnl33.featuretoggle.service.EvaluationResult;
 import com.fnl33.featuretoggle.service.EvaluationService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * REST Controller for Toggle evaluation
  */
 @RestController
-@RequestMapping("/api/toggles")
+@RequestMapping("/api")
 public class EvaluationController {
 
     private static final Logger logger = LoggerFactory.getLogger(EvaluationController.class);
@@ -22,7 +30,7 @@ public class EvaluationController {
         this.evaluationService = evaluationService;
     }
 
-    @GetMapping("/{name}/evaluate")
+    @GetMapping("/toggles/{name}/evaluate")
     public ResponseEntity<EvaluationResponse> evaluateToggle(
             @PathVariable String name,
             @RequestParam(required = false) String value) {
@@ -40,4 +48,40 @@ public class EvaluationController {
         
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/evaluations/batch")
+    public ResponseEntity<BatchEvaluationResponse> evaluateBatch(
+            @Valid @RequestBody BatchEvaluationRequest request) {
+
+        final List<EvaluationRequest> evaluations = request.evaluations();
+        logger.debug("Evaluating batch of {} toggles", evaluations.size());
+
+        final List<EvaluationResult> results = evaluationService.evaluateAll(evaluations);
+        final List<EvaluationResponse> responses = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final EvaluationRequest evaluation = evaluations.get(i);
+            final EvaluationResult result = results.get(i);
+            responses.add(new EvaluationResponse(
+                    evaluation.toggleName(),
+                    result.enabled(),
+                    evaluation.value(),
+                    result.reason()
+            ));
+        }
+
+        return ResponseEntity.ok(new BatchEvaluationResponse(responses));
+    }
+
+    @GetMapping("/evaluations/subject")
+    public ResponseEntity<SubjectEvaluationResponse> evaluateSubject(
+            @RequestParam String attribute,
+            @RequestParam String value) {
+
+        logger.debug("Evaluating toggles for attribute: {} with value: {}", attribute, value);
+
+        final List<String> toggleNames = evaluationService.findEnabledToggles(attribute, value);
+        final SubjectEvaluationResponse response = new SubjectEvaluationResponse(attribute, value, toggleNames);
+
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,65 @@
+package com.fnl33.featuretoggle.controller;
+
+import com.fnl33.featuretoggle.dto.FlightRecordingResponse;
+import com.fnl33.featuretoggle.service.flightrecorder.FlightRecordings;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Actuator endpoint starting a bounded JDK flight recording and streaming the .jfr file back once stopped
+ */
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordings flightRecordings;
+
+    public FlightRecordingEndpoint(FlightRecordings flightRecordings) {
+        this.flightRecordings = flightRecordings;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<FlightRecordingResponse> status() {
+        return flightRecordings.status()
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public FlightRecordingResponse start(@Nullable Duration duration, @Nullable String settings,
+                                         @Nullable Duration threshold) {
+        return flightRecordings.start(duration, settings, threshold);
+    }
+
+    /**
+     * Stops the recording and streams its file; the file is deleted once it has been read.
+     */
+    @DeleteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> stop() {
+        final Optional<Path> file = flightRecordings.stop();
+        if (file.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            return new WebEndpointResponse<>(new InputStreamResource(
+                    Files.newInputStream(file.get(), StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading flight recording " + file.get(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.fnl33.featuretoggle.controller;
+
+import com.fnl33.featuretoggle.dto.HotspotsResponse;
+import com.fnl33.featuretoggle.service.evaluation.HeavyHitters;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting the most evaluated (toggle, value) pairs and unknown toggle names
+ */
+@Component
+@Endpoint(id = "hotspots")
+public class HotspotsEndpoint {
+
+    private final HeavyHitters heavyHitters;
+
+    public HotspotsEndpoint(HeavyHitters heavyHitters) {
+        this.heavyHitters = heavyHitters;
+    }
+
+    @ReadOperation
+    public HotspotsResponse hotspots() {
+        return heavyHitters.hotspots();
+    }
+}
@@ -0,0 +1,35 @@
+package com.fnl33.featuretoggle.controller;
+
+import com.fnl33.featuretoggle.service.stream.ToggleChangeBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST Controller for streaming toggle changes as Server-Sent Events
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamController.class);
+    private final ToggleChangeBroadcaster toggleChangeBroadcaster;
+
+    public StreamController(ToggleChangeBroadcaster toggleChangeBroadcaster) {
+        this.toggleChangeBroadcaster = toggleChangeBroadcaster;
+    }
+
+    @GetMapping(value = "/toggles", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamToggles(@RequestParam(required = false) List<String> names) {
+        logger.debug("Opening toggle stream for: {}", names);
+        return toggleChangeBroadcaster.subscribe(names == null ? Set.of() : Set.copyOf(names));
+    }
+}
@@ -1,15 +1,16 @@
 package com.fnl33.featuretoggle.controller;
 
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.dto.PageCursor;
 import com.fnl33.featuretoggle.dto.PagedResponse;
 import com.fnl33.featuretoggle.dto.ToggleRequest;
 import com.fnl33.featuretoggle.dto.ToggleDetailResponse;
 import com.fnl33.featuretoggle.dto.ToggleListResponse;
+import com.fnl33.featuretoggle.service.KeysetPage;
 import com.fnl33.featuretoggle.service.ToggleService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -46,10 +47,12 @@ public class ToggleController {
     }
 
     @GetMapping
-    public ResponseEntity<PagedResponse<ToggleListResponse>> getAllToggles(Pageable pageable) {
+    public ResponseEntity<PagedResponse<ToggleListResponse>> getAllToggles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size) {
         logger.debug("Fetching all toggles");
         
-        final Page<Toggle> pagedToggle = toggleService.findAll(pageable);
+        final KeysetPage<Toggle> pagedToggle = toggleService.findAll(PageCursor.decode(cursor), size);
         final PagedResponse<ToggleListResponse> toggles = PagedResponse.from(
             pagedToggle.map(ToggleListResponse::from)
         );
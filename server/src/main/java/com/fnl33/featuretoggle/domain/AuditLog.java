@@ -37,6 +37,9 @@ public class AuditLog {
     @Column(columnDefinition = "TEXT")
     private String payload;
 
+    @Column(name = "toggle_name")
+    private String toggleName;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -0,0 +1,13 @@
+package com.fnl33.featuretoggle.domain;
+
+public enum ChangeType {
+    TOGGLE_CREATED,
+    TOGGLE_UPDATED,
+    TOGGLE_DELETED,
+    ALLOW_LIST_VALUE_ADDED,
+    ALLOW_LIST_VALUE_REMOVED,
+    ALLOW_LIST_IMPORTED,
+    ATTRIBUTE_CREATED,
+    ATTRIBUTE_UPDATED,
+    ATTRIBUTE_DELETED
+}
@@ -0,0 +1,7 @@
+package com.fnl33.featuretoggle.domain;
+
+public enum OutboxStatus {
+    PENDING,
+    IN_FLIGHT,
+    DEAD
+}
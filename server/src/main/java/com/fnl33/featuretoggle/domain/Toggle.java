@@ -53,6 +53,10 @@ public class Toggle {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    // Global revision of the last change, see ChangeLogRepository
+    @Column(nullable = false)
+    private long revision;
+
     @PrePersist
     void onCreate() {
         Instant now = Instant.now();
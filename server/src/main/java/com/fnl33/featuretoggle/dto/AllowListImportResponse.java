@@ -0,0 +1,29 @@
+package com.fnl33.featuretoggle.dto;
+
+import com.fnl33.featuretoggle.service.AllowListImportResult;
+
+import java.util.List;
+
+public record AllowListImportResponse(
+    String toggleName,
+    long received,
+    long inserted,
+    long duplicates,
+    long rejected,
+    List<String> errors,
+    long durationMillis,
+    long valuesPerSecond
+) {
+    public static AllowListImportResponse from(AllowListImportResult result) {
+        return new AllowListImportResponse(
+            result.toggleName(),
+            result.received(),
+            result.inserted(),
+            result.duplicates(),
+            result.rejected(),
+            result.errors(),
+            result.duration().toMillis(),
+            Math.round(result.valuesPerSecond())
+        );
+    }
+}
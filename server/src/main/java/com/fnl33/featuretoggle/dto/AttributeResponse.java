@@ -10,7 +10,8 @@ public record AttributeResponse(
     String description,
     DataType dataType,
     Instant createdAt,
-    Instant updatedAt
+    Instant updatedAt,
+    long revision
 ) {
     public static AttributeResponse from(Attribute attribute) {
         return new AttributeResponse(
@@ -18,7 +19,8 @@ public record AttributeResponse(
             attribute.getDescription(),
             attribute.getDataType(),
             attribute.getCreatedAt(),
-            attribute.getUpdatedAt()
+            attribute.getUpdatedAt(),
+            attribute.getRevision()
         );
     }
 }
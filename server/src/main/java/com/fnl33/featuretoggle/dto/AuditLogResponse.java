@@ -0,0 +1,27 @@
+package com.fnl33.featuretoggle.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fnl33.featuretoggle.repository.AuditLogEntry;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AuditLogResponse(
+    UUID id,
+    String action,
+    String resource,
+    String toggleName,
+    @JsonRawValue String payload,
+    Instant createdAt
+) {
+    public static AuditLogResponse from(AuditLogEntry entry) {
+        return new AuditLogResponse(
+            entry.id(),
+            entry.action(),
+            entry.resource(),
+            entry.toggleName(),
+            entry.payload(),
+            entry.createdAt()
+        );
+    }
+}
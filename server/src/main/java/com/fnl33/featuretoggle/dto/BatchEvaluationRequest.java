@@ -0,0 +1,15 @@
+package com.fnl33.featuretoggle.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchEvaluationRequest(
+    @NotEmpty(message = "At least one evaluation is required")
+    @Size(max = 10000, message = "At most 10000 evaluations are allowed per batch")
+    List<@NotNull(message = "Evaluation is required") @Valid EvaluationRequest> evaluations
+) {
+}
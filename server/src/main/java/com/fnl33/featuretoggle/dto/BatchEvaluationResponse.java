@@ -0,0 +1,8 @@
+package com.fnl33.featuretoggle.dto;
+
+import java.util.List;
+
+public record BatchEvaluationResponse(
+    List<EvaluationResponse> results
+) {
+}
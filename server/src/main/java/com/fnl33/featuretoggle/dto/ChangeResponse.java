@@ -0,0 +1,24 @@
+package com.fnl33.featuretoggle.dto;
+
+import com.fnl33.featuretoggle.domain.ChangeType;
+import com.fnl33.featuretoggle.repository.ChangeLogEntry;
+
+import java.time.Instant;
+
+public record ChangeResponse(
+    long revision,
+    ChangeType type,
+    String name,
+    String value,
+    Instant changedAt
+) {
+    public static ChangeResponse from(ChangeLogEntry entry) {
+        return new ChangeResponse(
+            entry.revision(),
+            entry.changeType(),
+            entry.entityName(),
+            entry.value(),
+            entry.changedAt()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.fnl33.featuretoggle.dto;
+
+import java.util.List;
+
+public record ChangesResponse(
+    List<ChangeResponse> changes,
+    long revision,
+    boolean hasMore,
+    boolean resyncRequired
+) {
+    public static ChangesResponse empty(long revision) {
+        return new ChangesResponse(List.of(), revision, false, false);
+    }
+
+    public static ChangesResponse resync(long revision) {
+        return new ChangesResponse(List.of(), revision, false, true);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fnl33.featuretoggle.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record EvaluationRequest(
+    @NotBlank(message = "Toggle name is required")
+    String toggleName,
+
+    String value
+) {
+}
@@ -0,0 +1,33 @@
+package com.fnl33.featuretoggle.dto;
+
+import jdk.jfr.Recording;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of the on-demand flight recording. Size is the number of bytes written to disk so far.
+ */
+public record FlightRecordingResponse(
+    long id,
+    String name,
+    String state,
+    Instant startTime,
+    Instant stopTime,
+    Duration duration,
+    long maxSize,
+    long size
+) {
+    public static FlightRecordingResponse from(Recording recording) {
+        return new FlightRecordingResponse(
+            recording.getId(),
+            recording.getName(),
+            recording.getState().name(),
+            recording.getStartTime(),
+            recording.getStopTime(),
+            recording.getDuration(),
+            recording.getMaxSize(),
+            recording.getSize()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.fnl33.featuretoggle.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Most evaluated (toggle, value) pairs and unknown toggle names of the current, still open, window and of
+ * the last complete one. Counts are scaled up from a sample and estimated with a count-min sketch, so
+ * they are approximate.
+ */
+public record HotspotsResponse(
+    Window current,
+    Window previous
+) {
+    public record Window(
+        Instant start,
+        Instant end,
+        long evaluations,
+        List<HotValue> values,
+        List<HotToggle> unknownToggles
+    ) {
+    }
+
+    public record HotValue(String toggle, String value, long count) {
+    }
+
+    public record HotToggle(String name, long count) {
+    }
+}
@@ -1,19 +1,37 @@
 package com.fnl33.featuretoggle.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fnl33.featuretoggle.service.KeysetPage;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
 
+/**
+ * Page of results. Offset listings report {@code page}; keyset listings report {@code nextCursor},
+ * which is omitted on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PagedResponse<T>(
     List<T> content,
-    int page,
-    int size
+    Integer page,
+    int size,
+    String nextCursor
 ) {
     public static <T> PagedResponse<T> from(Page<T> page) {
         return new PagedResponse<>(
             page.getContent(),
             page.getNumber(),
-            page.getSize()
+            page.getSize(),
+            null
+        );
+    }
+
+    public static <T> PagedResponse<T> from(KeysetPage<T> page) {
+        return new PagedResponse<>(
+            page.content(),
+            null,
+            page.size(),
+            PageCursor.encode(page.nextKey())
         );
     }
 }
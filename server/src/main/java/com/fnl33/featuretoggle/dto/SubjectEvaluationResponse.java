@@ -0,0 +1,10 @@
+package com.fnl33.featuretoggle.dto;
+
+import java.util.List;
+
+public record SubjectEvaluationResponse(
+    String attributeName,
+    String value,
+    List<String> enabledToggles
+) {
+}
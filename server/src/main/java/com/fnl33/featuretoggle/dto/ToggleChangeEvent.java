@@ -0,0 +1,9 @@
+package com.fnl33.featuretoggle.dto;
+
+public record ToggleChangeEvent(
+    String toggleName,
+    boolean enabled,
+    String value,
+    long revision
+) {
+}
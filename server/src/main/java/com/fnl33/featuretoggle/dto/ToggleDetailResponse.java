@@ -10,7 +10,8 @@ public record ToggleDetailResponse(
     AttributeResponse attribute,
     boolean enabled,
     Instant createdAt,
-    Instant updatedAt
+    Instant updatedAt,
+    long revision
 ) {
     public static ToggleDetailResponse from(Toggle toggle) {
         return new ToggleDetailResponse(
@@ -19,7 +20,8 @@ public record ToggleDetailResponse(
             AttributeResponse.from(toggle.getAttribute()),
             toggle.isEnabled(),
             toggle.getCreatedAt(),
-            toggle.getUpdatedAt()
+            toggle.getUpdatedAt(),
+            toggle.getRevision()
         );
     }
 }
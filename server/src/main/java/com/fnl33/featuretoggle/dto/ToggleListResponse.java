@@ -10,7 +10,8 @@ public record ToggleListResponse(
     AttributeResponse attribute,
     boolean enabled,
     Instant createdAt,
-    Instant updatedAt
+    Instant updatedAt,
+    long revision
 ) {
     public static ToggleListResponse from(Toggle toggle) {
         return new ToggleListResponse(
@@ -19,7 +20,8 @@ public record ToggleListResponse(
             AttributeResponse.from(toggle.getAttribute()),
             toggle.isEnabled(),
             toggle.getCreatedAt(),
-            toggle.getUpdatedAt()
+            toggle.getUpdatedAt(),
+            toggle.getRevision()
         );
     }
 }
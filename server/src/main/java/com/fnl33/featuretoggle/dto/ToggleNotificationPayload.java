@@ -0,0 +1,10 @@
+package com.fnl33.featuretoggle.dto;
+
+import java.util.List;
+
+public record ToggleNotificationPayload(
+    String toggleName,
+    boolean enabled,
+    List<String> allowListValues
+) {
+}
@@ -10,7 +10,8 @@ public record ToggleResponse(
     AttributeResponse attribute,
     boolean enabled,
     Instant createdAt,
-    Instant updatedAt
+    Instant updatedAt,
+    long revision
 ) {
     public static ToggleResponse from(Toggle toggle) {
         return new ToggleResponse(
@@ -19,7 +20,8 @@ public record ToggleResponse(
             AttributeResponse.from(toggle.getAttribute()),
             toggle.isEnabled(),
             toggle.getCreatedAt(),
-            toggle.getUpdatedAt()
+            toggle.getUpdatedAt(),
+            toggle.getRevision()
         );
     }
 }
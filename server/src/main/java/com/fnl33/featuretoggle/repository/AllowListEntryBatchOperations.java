@@ -0,0 +1,28 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.util.Collection;
+
+/**
+ * Set-based allow-list writes executed as JDBC batches, bypassing the entity collection.
+ */
+public interface AllowListEntryBatchOperations {
+
+    void insertValues(String toggleName, Collection<String> values);
+
+    void deleteValues(String toggleName, Collection<String> values);
+
+    /**
+     * Inserts the values that are not yet in the toggle's allow list.
+     *
+     * @return number of rows inserted
+     */
+    int insertMissingValues(String toggleName, Collection<String> values);
+
+    /**
+     * PostgreSQL-only variant of {@link #insertMissingValues} that streams the values with COPY into a
+     * transaction-scoped staging table and merges them with a single INSERT ... ON CONFLICT DO NOTHING.
+     *
+     * @return number of rows inserted
+     */
+    int copyMissingValues(String toggleName, Collection<String> values);
+}
@@ -0,0 +1,122 @@
+package com.fnl33.featuretoggle.repository;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.UUID;
+
+public class AllowListEntryBatchOperationsImpl implements AllowListEntryBatchOperations {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO allow_list_entries (id, toggle_name, toggle_value) VALUES (?, ?, ?)";
+    private static final String DELETE_SQL =
+            "DELETE FROM allow_list_entries WHERE toggle_name = ? AND toggle_value = ?";
+    private static final String INSERT_MISSING_SQL =
+            "INSERT INTO allow_list_entries (id, toggle_name, toggle_value) SELECT ?, ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM allow_list_entries WHERE toggle_name = ? AND toggle_value = ?)";
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMPORARY TABLE IF NOT EXISTS allow_list_import_staging (toggle_value VARCHAR(255)) "
+                    + "ON COMMIT DELETE ROWS";
+    private static final String COPY_STAGING_SQL =
+            "COPY allow_list_import_staging (toggle_value) FROM STDIN";
+    private static final String MERGE_STAGING_SQL =
+            "INSERT INTO allow_list_entries (id, toggle_name, toggle_value) "
+                    + "SELECT gen_random_uuid(), ?, toggle_value FROM (SELECT DISTINCT toggle_value FROM allow_list_import_staging) staged "
+                    + "ON CONFLICT (toggle_name, toggle_value) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AllowListEntryBatchOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertValues(String toggleName, Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, values, BATCH_SIZE, (statement, value) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setString(2, toggleName);
+            statement.setString(3, value);
+        });
+    }
+
+    @Override
+    public void deleteValues(String toggleName, Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, values, BATCH_SIZE, (statement, value) -> {
+            statement.setString(1, toggleName);
+            statement.setString(2, value);
+        });
+    }
+
+    @Override
+    public int insertMissingValues(String toggleName, Collection<String> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        final int[][] counts = jdbcTemplate.batchUpdate(INSERT_MISSING_SQL, values, BATCH_SIZE, (statement, value) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setString(2, toggleName);
+            statement.setString(3, value);
+            statement.setString(4, toggleName);
+            statement.setString(5, value);
+        });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    inserted++;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public int copyMissingValues(String toggleName, Collection<String> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        final StringBuilder rows = new StringBuilder(values.size() * 16);
+        for (String value : values) {
+            appendCopyText(rows, value).append('\n');
+        }
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING_SQL, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into allow_list_import_staging failed", e);
+            }
+        });
+        return jdbcTemplate.update(MERGE_STAGING_SQL, toggleName);
+    }
+
+    // Escapes a value for the COPY text format
+    private static StringBuilder appendCopyText(StringBuilder target, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> target.append("\\\\");
+                case '\t' -> target.append("\\t");
+                case '\n' -> target.append("\\n");
+                case '\r' -> target.append("\\r");
+                default -> target.append(c);
+            }
+        }
+        return target;
+    }
+}
@@ -2,14 +2,27 @@ package com.fnl33.featuretoggle.repository;
 
 import com.fnl33.featuretoggle.domain.AllowListEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface AllowListEntryRepository extends JpaRepository<AllowListEntry, UUID> {
-    Page<AllowListEntry> findByToggle_Name(String toggleName, Pageable pageable);
+public interface AllowListEntryRepository extends JpaRepository<AllowListEntry, UUID>, AllowListEntryBatchOperations {
     Optional<AllowListEntry> findByToggle_NameAndValue(String toggleName, String value);
     boolean existsByToggle_NameAndValue(String toggleName, String value);
+
+    @Query("select e.value from AllowListEntry e where e.toggle.name = :toggleName")
+    List<String> findValuesByToggleName(@Param("toggleName") String toggleName);
+
+    // Seeks on the (toggle_name, toggle_value) unique index, so deep pages cost the same as the first
+    @Query("select e.value from AllowListEntry e where e.toggle.name = :toggleName and e.value > :after order by e.value")
+    List<String> findValuesAfter(@Param("toggleName") String toggleName, @Param("after") String after, Limit limit);
+
+    @Modifying
+    @Query("delete from AllowListEntry e where e.toggle.name = :toggleName and e.value = :value")
+    int deleteByToggleNameAndValue(@Param("toggleName") String toggleName, @Param("value") String value);
 }
@@ -0,0 +1,11 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.util.Collection;
+
+/**
+ * Audit inserts executed as JDBC batches, bypassing the persistence context.
+ */
+public interface AuditLogBatchOperations {
+
+    void insertAll(Collection<AuditRecord> records);
+}
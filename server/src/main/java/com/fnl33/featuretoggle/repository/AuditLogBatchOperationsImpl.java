@@ -0,0 +1,36 @@
+package com.fnl33.featuretoggle.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.UUID;
+
+public class AuditLogBatchOperationsImpl implements AuditLogBatchOperations {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (id, action, resource, payload, toggle_name, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogBatchOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(Collection<AuditRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, BATCH_SIZE, (statement, record) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setString(2, record.action());
+            statement.setString(3, record.resource());
+            statement.setString(4, record.payload());
+            statement.setString(5, record.toggleName());
+            statement.setTimestamp(6, Timestamp.from(record.createdAt()));
+        });
+    }
+}
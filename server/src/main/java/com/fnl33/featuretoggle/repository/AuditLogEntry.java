@@ -0,0 +1,17 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One stored audit log row; {@code payload} is the JSON text as written.
+ */
+public record AuditLogEntry(
+    UUID id,
+    String action,
+    String resource,
+    String toggleName,
+    String payload,
+    Instant createdAt
+) {
+}
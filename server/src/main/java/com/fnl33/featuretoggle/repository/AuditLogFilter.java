@@ -0,0 +1,16 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.time.Instant;
+
+/**
+ * Criteria for reading audit logs; {@code null} fields do not filter. {@code from} is inclusive and
+ * {@code to} exclusive.
+ */
+public record AuditLogFilter(
+    String resource,
+    String action,
+    String toggleName,
+    Instant from,
+    Instant to
+) {
+}
@@ -0,0 +1,103 @@
+package com.fnl33.featuretoggle.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Filtered reads of {@code audit_logs}. Every filter bounds {@code created_at} or leads an index ending in
+ * it, so on PostgreSQL a time range only touches the partitions of the months it covers.
+ */
+@Repository
+public class AuditLogQueryRepository {
+
+    static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String SELECT_SQL =
+            "SELECT id, action, resource, toggle_name, payload, created_at FROM audit_logs";
+
+    private static final RowMapper<AuditLogEntry> ENTRY_MAPPER = (resultSet, rowNum) -> new AuditLogEntry(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getString("action"),
+            resultSet.getString("resource"),
+            resultSet.getString("toggle_name"),
+            resultSet.getString("payload"),
+            resultSet.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    public AuditLogQueryRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+    }
+
+    /**
+     * Newest entries first, up to {@code limit}, starting after the entry identified by
+     * {@code beforeCreatedAt} and {@code beforeId} when given.
+     */
+    public List<AuditLogEntry> findPage(AuditLogFilter filter, Instant beforeCreatedAt, UUID beforeId, int limit) {
+        final List<Object> args = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(SELECT_SQL);
+        appendFilter(sql, args, filter);
+        if (beforeCreatedAt != null) {
+            // The plain bound keeps the created_at index and partition pruning usable
+            final Timestamp before = Timestamp.from(beforeCreatedAt);
+            sql.append(" AND created_at <= ? AND (created_at < ? OR id < ?)");
+            args.add(before);
+            args.add(before);
+            args.add(beforeId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ENTRY_MAPPER, args.toArray());
+    }
+
+    /**
+     * Hands every matching entry, oldest first, to {@code consumer} while reading through a server-side
+     * cursor, so memory use does not depend on the number of rows. Must run inside a transaction, which
+     * PostgreSQL requires to fetch in chunks instead of loading the whole result.
+     */
+    public void forEach(AuditLogFilter filter, Consumer<AuditLogEntry> consumer) {
+        final List<Object> args = new ArrayList<>();
+        final StringBuilder sql = new StringBuilder(SELECT_SQL);
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY created_at, id");
+        final RowCallbackHandler handler = resultSet -> consumer.accept(ENTRY_MAPPER.mapRow(resultSet, 0));
+        exportJdbcTemplate.query(sql.toString(), handler, args.toArray());
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, AuditLogFilter filter) {
+        sql.append(" WHERE 1 = 1");
+        if (filter.resource() != null) {
+            sql.append(" AND resource = ?");
+            args.add(filter.resource());
+        }
+        if (filter.action() != null) {
+            sql.append(" AND action = ?");
+            args.add(filter.action());
+        }
+        if (filter.toggleName() != null) {
+            sql.append(" AND toggle_name = ?");
+            args.add(filter.toggleName());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.from(filter.to()));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.fnl33.featuretoggle.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DDL for the monthly range partitions of {@code audit_logs} on PostgreSQL. Partitions are named
+ * {@code audit_logs_yYYYYmMM} and cover {@code created_at} from the first of the month, inclusive, to the
+ * first of the next month. Rows of months without a partition go to {@code audit_logs_default}.
+ */
+@Repository
+public class AuditPartitionRepository {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'audit_logs_y'yyyy'm'MM");
+
+    // Arbitrary key serializing maintenance across instances
+    private static final long MAINTENANCE_LOCK_KEY = 0x61756469746c6f67L;
+
+    private static final String LOCK_SQL =
+            "SELECT pg_advisory_xact_lock(" + MAINTENANCE_LOCK_KEY + ")";
+    private static final String FIND_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits "
+                    + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                    + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                    + "WHERE parent.relname = 'audit_logs' AND parent.relnamespace = to_regnamespace(current_schema())";
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF audit_logs FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String DETACH_SQL =
+            "ALTER TABLE audit_logs DETACH PARTITION %s";
+    private static final String DROP_SQL =
+            "DROP TABLE %s";
+    private static final String COUNT_DEFAULT_SQL =
+            "SELECT count(*) FROM audit_logs_default";
+    private static final String FIND_DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT date_trunc('month', created_at) FROM audit_logs_default";
+    private static final String COUNT_DEFAULT_IN_MONTH_SQL =
+            "SELECT count(*) FROM audit_logs_default WHERE created_at >= ? AND created_at < ?";
+    private static final String CREATE_STASH_SQL =
+            "CREATE TEMPORARY TABLE IF NOT EXISTS audit_logs_stash (LIKE audit_logs) ON COMMIT DROP";
+    private static final String STASH_DEFAULT_ROWS_SQL =
+            "WITH moved AS (DELETE FROM audit_logs_default WHERE created_at >= ? AND created_at < ? RETURNING *) "
+                    + "INSERT INTO audit_logs_stash SELECT * FROM moved";
+    private static final String RESTORE_STASH_SQL =
+            "WITH moved AS (DELETE FROM audit_logs_stash RETURNING *) INSERT INTO audit_logs SELECT * FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Blocks until no other instance maintains the partitions; held until the current transaction ends.
+     */
+    public void lockForMaintenance() {
+        jdbcTemplate.execute(LOCK_SQL);
+    }
+
+    /**
+     * Months of the partitions currently attached to {@code audit_logs}, ignoring partitions that do not
+     * follow the naming scheme.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        final List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class)) {
+            try {
+                months.add(YearMonth.parse(name, PARTITION_NAME));
+            } catch (DateTimeParseException e) {
+                // Not one of ours
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    /**
+     * Whether the database is PostgreSQL, where the vendor migrations partition {@code audit_logs}.
+     */
+    public boolean isPartitioned() {
+        final String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    /**
+     * Creates the partition of the month. Rows of the month already in the default partition would make
+     * the creation fail, so they are moved into the new partition in the same transaction.
+     *
+     * @return the number of rows moved out of the default partition
+     */
+    public int createPartition(YearMonth month) {
+        final Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        final Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        final Integer stranded = jdbcTemplate.queryForObject(COUNT_DEFAULT_IN_MONTH_SQL, Integer.class, from, to);
+        if (stranded != null && stranded > 0) {
+            jdbcTemplate.execute(CREATE_STASH_SQL);
+            jdbcTemplate.update(STASH_DEFAULT_ROWS_SQL, from, to);
+        }
+        jdbcTemplate.execute(CREATE_SQL.formatted(
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        if (stranded != null && stranded > 0) {
+            jdbcTemplate.update(RESTORE_STASH_SQL);
+            return stranded;
+        }
+        return 0;
+    }
+
+    /**
+     * Months of the rows held by the default partition, which have no partition of their own.
+     */
+    public List<YearMonth> findDefaultPartitionMonths() {
+        final List<YearMonth> months = new ArrayList<>();
+        for (Timestamp month : jdbcTemplate.queryForList(FIND_DEFAULT_MONTHS_SQL, Timestamp.class)) {
+            months.add(YearMonth.from(month.toLocalDateTime()));
+        }
+        months.sort(null);
+        return months;
+    }
+
+    public long countDefaultPartitionRows() {
+        final Long rows = jdbcTemplate.queryForObject(COUNT_DEFAULT_SQL, Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Detaches the partition, keeping its rows in a standalone table of the same name.
+     */
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute(DETACH_SQL.formatted(partitionName(month)));
+    }
+
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute(DROP_SQL.formatted(partitionName(month)));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+}
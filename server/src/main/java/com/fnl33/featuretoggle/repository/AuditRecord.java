@@ -0,0 +1,15 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.time.Instant;
+
+/**
+ * An audit row ready to be inserted, with the payload already serialized.
+ */
+public record AuditRecord(
+    String action,
+    String resource,
+    String payload,
+    String toggleName,
+    Instant createdAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.fnl33.featuretoggle.repository;
+
+import com.fnl33.featuretoggle.domain.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * One committed change, identified by its global revision. The origin is the instance that made it, null
+ * for changes logged before origins were recorded.
+ */
+public record ChangeLogEntry(
+    long revision,
+    ChangeType changeType,
+    String entityName,
+    String value,
+    String origin,
+    Instant changedAt
+) {
+}
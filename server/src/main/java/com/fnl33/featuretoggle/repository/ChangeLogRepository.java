@@ -0,0 +1,71 @@
+package com.fnl33.featuretoggle.repository;
+
+import com.fnl33.featuretoggle.domain.ChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Global revision counter and the log of changes stamped with it. Revisions are gapless and assigned in
+ * commit order, so a reader that has seen revision {@code n} only needs the changes after {@code n}.
+ */
+@Repository
+public class ChangeLogRepository {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE global_revision SET revision = revision + 1 WHERE id = 1";
+    private static final String CURRENT_SQL =
+            "SELECT revision FROM global_revision WHERE id = 1";
+    private static final String APPEND_SQL =
+            "INSERT INTO change_log (revision, change_type, entity_name, change_value, origin, changed_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String FIND_AFTER_SQL =
+            "SELECT revision, change_type, entity_name, change_value, origin, changed_at FROM change_log "
+                    + "WHERE revision > ? ORDER BY revision LIMIT ?";
+    private static final String PURGE_SQL =
+            "DELETE FROM change_log WHERE changed_at < ?";
+
+    private static final RowMapper<ChangeLogEntry> ENTRY_MAPPER = (resultSet, rowNum) -> new ChangeLogEntry(
+            resultSet.getLong("revision"),
+            ChangeType.valueOf(resultSet.getString("change_type")),
+            resultSet.getString("entity_name"),
+            resultSet.getString("change_value"),
+            resultSet.getString("origin"),
+            resultSet.getTimestamp("changed_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes the next revision and logs the change under it. Must run in the transaction of the change and
+     * as late in it as possible: the counter row stays locked until it commits, which serializes writers
+     * from this point on. The origin identifies the instance making the change.
+     */
+    public long append(ChangeType changeType, String entityName, String value, String origin, Instant changedAt) {
+        jdbcTemplate.update(INCREMENT_SQL);
+        final long revision = currentRevision();
+        jdbcTemplate.update(APPEND_SQL, revision, changeType.name(), entityName, value, origin,
+                Timestamp.from(changedAt));
+        return revision;
+    }
+
+    public long currentRevision() {
+        final Long revision = jdbcTemplate.queryForObject(CURRENT_SQL, Long.class);
+        return revision == null ? 0 : revision;
+    }
+
+    public List<ChangeLogEntry> findAfter(long revision, int limit) {
+        return jdbcTemplate.query(FIND_AFTER_SQL, ENTRY_MAPPER, revision, limit);
+    }
+
+    public int deleteOlderThan(Instant cutoff) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.from(cutoff));
+    }
+}
@@ -3,14 +3,26 @@ package com.fnl33.featuretoggle.repository;
 import com.fnl33.featuretoggle.domain.ClientRegistration;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ClientRegistrationRepository extends JpaRepository<ClientRegistration, UUID> {
+    // Ids are paged on their own: a limit on a fetch join with the toggles collection is applied in memory
+    @Query("select c.id from ClientRegistration c order by c.id")
+    List<UUID> findIds(Limit limit);
+
+    @Query("select c.id from ClientRegistration c where c.id > :after order by c.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
     @EntityGraph(attributePaths = {"toggles"})
-    Page<ClientRegistration> findAll(Pageable pageable);
-    List<ClientRegistration> findByTogglesContains(String toggleName);
+    List<ClientRegistration> findByIdIn(Collection<UUID> ids);
+
+    @Query("select new com.fnl33.featuretoggle.repository.ClientSubscription(c.id, c.callbackUrl, t) "
+            + "from ClientRegistration c join c.toggles t")
+    List<ClientSubscription> findSubscriptions();
 }
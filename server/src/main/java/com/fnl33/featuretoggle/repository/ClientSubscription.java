@@ -0,0 +1,13 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.util.UUID;
+
+/**
+ * A client subscribed to changes of one toggle.
+ */
+public record ClientSubscription(
+    UUID clientRegistrationId,
+    String callbackUrl,
+    String toggleName
+) {
+}
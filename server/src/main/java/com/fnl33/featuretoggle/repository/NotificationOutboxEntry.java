@@ -0,0 +1,15 @@
+package com.fnl33.featuretoggle.repository;
+
+import java.util.UUID;
+
+/**
+ * A pending notification of a toggle change to one subscribed client.
+ */
+public record NotificationOutboxEntry(
+    long id,
+    UUID clientRegistrationId,
+    String callbackUrl,
+    String toggleName,
+    int attempts
+) {
+}
@@ -0,0 +1,145 @@
+package com.fnl33.featuretoggle.repository;
+
+import com.fnl33.featuretoggle.domain.OutboxStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Notification outbox. Rows are written in the transaction of the change they announce and claimed by
+ * pollers with {@code FOR UPDATE SKIP LOCKED}, so several instances can drain the table concurrently.
+ * <p>
+ * There is at most one {@code PENDING} row per client and toggle: further changes before it is sent are
+ * absorbed by it, since deliveries carry the toggle state at send time. Claimed rows move to
+ * {@code IN_FLIGHT}, so a change made during a delivery queues a new row instead of being absorbed.
+ */
+@Repository
+public class NotificationOutboxRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String ENQUEUE_SQL =
+            "INSERT INTO notification_outbox "
+                    + "(client_registration_id, callback_url, toggle_name, status, attempts, next_attempt_at, created_at) "
+                    + "SELECT t.client_registration_id, ?, t.toggle_name, ?, 0, ?, ? FROM client_registration_toggles t "
+                    + "WHERE t.client_registration_id = ? AND t.toggle_name = ? AND NOT EXISTS (SELECT 1 "
+                    + "FROM notification_outbox o WHERE o.client_registration_id = t.client_registration_id "
+                    + "AND o.toggle_name = t.toggle_name AND o.status = ?)";
+    private static final String CLAIM_SQL =
+            "SELECT id, client_registration_id, callback_url, toggle_name, attempts FROM notification_outbox "
+                    + "WHERE status IN (?, ?) AND next_attempt_at <= ? ORDER BY next_attempt_at, id LIMIT ? "
+                    + "FOR UPDATE SKIP LOCKED";
+    private static final String LEASE_SQL =
+            "UPDATE notification_outbox SET status = ?, next_attempt_at = ? WHERE id = ?";
+    private static final String DELETE_SQL =
+            "DELETE FROM notification_outbox WHERE id = ?";
+    private static final String RESCHEDULE_SQL =
+            "UPDATE notification_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+    private static final String POSTPONE_SQL =
+            "UPDATE notification_outbox SET status = ?, next_attempt_at = ? WHERE id = ?";
+    private static final String DEAD_LETTER_SQL =
+            "UPDATE notification_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+    private static final String PURGE_DEAD_SQL =
+            "DELETE FROM notification_outbox WHERE status = ? AND next_attempt_at < ?";
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private static final RowMapper<NotificationOutboxEntry> ENTRY_MAPPER = (resultSet, rowNum) -> new NotificationOutboxEntry(
+            resultSet.getLong("id"),
+            resultSet.getObject("client_registration_id", UUID.class),
+            resultSet.getString("callback_url"),
+            resultSet.getString("toggle_name"),
+            resultSet.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Queues a notification due at {@code dueAt} for each subscription, unless one is already pending for
+     * that client and toggle. Subscriptions no longer in the database are skipped, so the caller may pass
+     * a slightly stale list.
+     */
+    public void enqueue(Collection<ClientSubscription> subscriptions, Instant now, Instant dueAt) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        final Timestamp createdAt = Timestamp.from(now);
+        final Timestamp nextAttemptAt = Timestamp.from(dueAt);
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, subscriptions, BATCH_SIZE, (statement, subscription) -> {
+            statement.setString(1, subscription.callbackUrl());
+            statement.setString(2, OutboxStatus.PENDING.name());
+            statement.setTimestamp(3, nextAttemptAt);
+            statement.setTimestamp(4, createdAt);
+            statement.setObject(5, subscription.clientRegistrationId());
+            statement.setString(6, subscription.toggleName());
+            statement.setString(7, OutboxStatus.PENDING.name());
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} due notifications, marking them in flight until {@code leaseUntil}.
+     * Must run in a transaction; rows locked by another poller are skipped rather than waited for, and
+     * claimed rows become due again if the claimant dies before recording the outcome.
+     */
+    public List<NotificationOutboxEntry> claimDue(Instant now, Instant leaseUntil, int limit) {
+        final List<NotificationOutboxEntry> entries = jdbcTemplate.query(CLAIM_SQL, ENTRY_MAPPER,
+                OutboxStatus.PENDING.name(), OutboxStatus.IN_FLIGHT.name(), Timestamp.from(now), limit);
+        final Timestamp lease = Timestamp.from(leaseUntil);
+        jdbcTemplate.batchUpdate(LEASE_SQL, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setString(1, OutboxStatus.IN_FLIGHT.name());
+            statement.setTimestamp(2, lease);
+            statement.setLong(3, entry.id());
+        });
+        return entries;
+    }
+
+    public void delete(Collection<NotificationOutboxEntry> entries) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, entries, BATCH_SIZE,
+                (statement, entry) -> statement.setLong(1, entry.id()));
+    }
+
+    public void reschedule(NotificationOutboxEntry entry, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(RESCHEDULE_SQL, OutboxStatus.PENDING.name(), attempts, Timestamp.from(nextAttemptAt),
+                truncate(error), entry.id());
+    }
+
+    /**
+     * Returns claimed notifications to the queue until {@code nextAttemptAt} without counting an attempt.
+     */
+    public void postpone(Collection<NotificationOutboxEntry> entries, Instant nextAttemptAt) {
+        final Timestamp timestamp = Timestamp.from(nextAttemptAt);
+        jdbcTemplate.batchUpdate(POSTPONE_SQL, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setString(1, OutboxStatus.PENDING.name());
+            statement.setTimestamp(2, timestamp);
+            statement.setLong(3, entry.id());
+        });
+    }
+
+    /**
+     * Marks a notification dead; it is never claimed again and {@code next_attempt_at} records when it died.
+     */
+    public void deadLetter(NotificationOutboxEntry entry, int attempts, Instant deadAt, String error) {
+        jdbcTemplate.update(DEAD_LETTER_SQL, OutboxStatus.DEAD.name(), attempts, Timestamp.from(deadAt),
+                truncate(error), entry.id());
+    }
+
+    /**
+     * Deletes notifications dead-lettered before the cutoff.
+     */
+    public int deleteDeadBefore(Instant cutoff) {
+        return jdbcTemplate.update(PURGE_DEAD_SQL, OutboxStatus.DEAD.name(), Timestamp.from(cutoff));
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
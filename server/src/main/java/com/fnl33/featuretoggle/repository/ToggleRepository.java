@@ -1,10 +1,12 @@
 package com.fnl33.featuretoggle.repository;
 
 import com.fnl33.featuretoggle.domain.Toggle;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,8 +15,20 @@ public interface ToggleRepository extends JpaRepository<Toggle, String> {
     @EntityGraph(attributePaths = {"attribute"})
     Optional<Toggle> findByName(String name);
 
+    /**
+     * Locks the toggle row until the transaction ends; writers of the allow list take it first so a
+     * diff against the stored values is not raced by another writer.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Toggle> findForUpdateByName(String name);
+
+    @EntityGraph(attributePaths = {"attribute"})
+    List<Toggle> findByNameGreaterThanOrderByNameAsc(String name, Limit limit);
+
     @EntityGraph(attributePaths = {"attribute"})
-    Page<Toggle> findAll(Pageable pageable);
+    @Query("select t from Toggle t")
+    List<Toggle> findAllWithAttribute();
+
     boolean existsByName(String name);
     boolean existsByAttribute_Name(String attributeName);
     List<Toggle> findByAttribute_Name(String attributeName);
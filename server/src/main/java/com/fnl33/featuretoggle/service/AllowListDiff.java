@@ -0,0 +1,35 @@
+package com.fnl33.featuretoggle.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set difference between the stored and the requested allow-list values of a toggle.
+ */
+public record AllowListDiff(List<String> toInsert, List<String> toDelete) {
+
+    public static AllowListDiff between(Collection<String> currentValues, Collection<String> requestedValues) {
+        final Set<String> current = currentValues instanceof Set<String> set ? set : new HashSet<>(currentValues);
+        final Set<String> requested = requestedValues instanceof Set<String> set ? set : new HashSet<>(requestedValues);
+        final List<String> toInsert = new ArrayList<>();
+        for (String value : requested) {
+            if (!current.contains(value)) {
+                toInsert.add(value);
+            }
+        }
+        final List<String> toDelete = new ArrayList<>();
+        for (String value : current) {
+            if (!requested.contains(value)) {
+                toDelete.add(value);
+            }
+        }
+        return new AllowListDiff(toInsert, toDelete);
+    }
+
+    public boolean isEmpty() {
+        return toInsert.isEmpty() && toDelete.isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented request body formats accepted by the allow-list import.
+ */
+public enum AllowListImportFormat {
+
+    /**
+     * One value per line; only the first column is read and RFC 4180 quoting is honoured.
+     */
+    CSV("text/csv") {
+        @Override
+        String parseLine(String line, ObjectMapper objectMapper) {
+            if (!line.startsWith("\"")) {
+                final int separator = line.indexOf(',');
+                return separator < 0 ? line : line.substring(0, separator);
+            }
+            final StringBuilder value = new StringBuilder(line.length());
+            for (int i = 1; i < line.length(); i++) {
+                final char c = line.charAt(i);
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    return value.toString();
+                }
+            }
+            throw new ValidationException("Unterminated quoted value");
+        }
+    },
+
+    /**
+     * One JSON document per line: either a string/number or an object with a {@code value} field.
+     */
+    NDJSON("application/x-ndjson") {
+        @Override
+        String parseLine(String line, ObjectMapper objectMapper) {
+            final JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new ValidationException("Malformed JSON");
+            }
+            final JsonNode value = node.isObject() ? node.get("value") : node;
+            if (value == null || !value.isValueNode() || value.isNull()) {
+                throw new ValidationException("Expected a string or an object with a value field");
+            }
+            return value.asText();
+        }
+    };
+
+    private final MediaType mediaType;
+
+    AllowListImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public static AllowListImportFormat from(MediaType contentType) {
+        for (AllowListImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported import content type: %s".formatted(contentType));
+    }
+
+    /**
+     * Extracts the raw allow-list value from a non-empty line.
+     */
+    abstract String parseLine(String line, ObjectMapper objectMapper);
+}
@@ -0,0 +1,19 @@
+package com.fnl33.featuretoggle.service;
+
+import java.time.Duration;
+import java.util.List;
+
+public record AllowListImportResult(
+    String toggleName,
+    long received,
+    long inserted,
+    long duplicates,
+    long rejected,
+    List<String> errors,
+    Duration duration
+) {
+    public double valuesPerSecond() {
+        final long millis = Math.max(1, duration.toMillis());
+        return received * 1000.0 / millis;
+    }
+}
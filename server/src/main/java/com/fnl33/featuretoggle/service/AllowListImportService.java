@@ -0,0 +1,211 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.AllowListImportProperties;
+import com.fnl33.featuretoggle.domain.ChangeType;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.exception.ToggleNotFoundException;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams allow-list values from a request body into the database in bounded, independently
+ * committed chunks. Memory use depends on the chunk size only, never on the size of the upload.
+ */
+@Service
+@Slf4j
+public class AllowListImportService {
+
+    private static final int MAX_VALUE_LENGTH = 255;
+    // Room for a fully quoted value plus further CSV columns or JSON fields; longer lines are not buffered
+    static final int MAX_LINE_LENGTH = 4096;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final int PROGRESS_LOG_INTERVAL = 20;
+
+    private final ToggleRepository toggleRepository;
+    private final AllowListEntryRepository allowListEntryRepository;
+    private final NotificationOrchestrator notificationOrchestrator;
+    private final AuditService auditService;
+    private final MetricsService metricsService;
+    private final ObjectMapper objectMapper;
+    private final AllowListImportProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public AllowListImportService(ToggleRepository toggleRepository,
+                                  AllowListEntryRepository allowListEntryRepository,
+                                  NotificationOrchestrator notificationOrchestrator,
+                                  AuditService auditService,
+                                  MetricsService metricsService,
+                                  ObjectMapper objectMapper,
+                                  AllowListImportProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.toggleRepository = toggleRepository;
+        this.allowListEntryRepository = allowListEntryRepository;
+        this.notificationOrchestrator = notificationOrchestrator;
+        this.auditService = auditService;
+        this.metricsService = metricsService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds every value in the stream to the toggle's allow list, skipping values already present.
+     * Chunks are committed as they are written, so a failed import keeps the chunks before the failure;
+     * those are still audited and announced before the failure is rethrown.
+     */
+    public AllowListImportResult importValues(String toggleName, AllowListImportFormat format, boolean skipHeader,
+                                              InputStream input) {
+        if (!toggleRepository.existsByName(toggleName)) {
+            throw new ToggleNotFoundException(toggleName);
+        }
+        final long startedAt = System.nanoTime();
+        final int chunkSize = properties.getChunkSize();
+        final Set<String> chunk = new HashSet<>(chunkSize * 2);
+        final List<String> errors = new ArrayList<>();
+        long lineNumber = 0;
+        long received = 0;
+        long rejected = 0;
+        long inserted = 0;
+        long chunks = 0;
+        boolean headerPending = skipHeader;
+
+        try {
+            try (BoundedLineReader reader = new BoundedLineReader(
+                    new InputStreamReader(input, StandardCharsets.UTF_8), MAX_LINE_LENGTH)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    final String trimmed = line.strip();
+                    if (trimmed.isEmpty()) {
+                        continue;
+                    }
+                    if (headerPending) {
+                        headerPending = false;
+                        continue;
+                    }
+                    received++;
+                    final String value;
+                    try {
+                        if (reader.lastLineTooLong()) {
+                            throw new ValidationException("Line exceeds %d characters".formatted(MAX_LINE_LENGTH));
+                        }
+                        value = format.parseLine(trimmed, objectMapper);
+                        validateValue(value);
+                    } catch (ValidationException e) {
+                        rejected++;
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add("line %d: %s".formatted(lineNumber, e.getMessage()));
+                        }
+                        continue;
+                    }
+                    chunk.add(value);
+                    if (chunk.size() >= chunkSize) {
+                        inserted += writeChunk(toggleName, chunk);
+                        chunk.clear();
+                        chunks++;
+                        if (chunks % PROGRESS_LOG_INTERVAL == 0) {
+                            logProgress(toggleName, received, inserted, startedAt);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read allow list import for toggle %s".formatted(toggleName), e);
+            }
+            inserted += writeChunk(toggleName, chunk);
+        } catch (RuntimeException e) {
+            // The chunks written so far are committed; announce them so every cache picks them up
+            if (inserted > 0) {
+                final AllowListImportResult partial = new AllowListImportResult(toggleName, received, inserted,
+                        0, rejected, List.copyOf(errors), Duration.ofNanos(System.nanoTime() - startedAt));
+                try {
+                    metricsService.incrementAllowListImported(inserted);
+                    completeImport(partial, false);
+                } catch (RuntimeException completionFailure) {
+                    e.addSuppressed(completionFailure);
+                }
+                log.warn("Allow list import failed after committing values: toggle={} received={} inserted={}",
+                        toggleName, received, inserted);
+            }
+            throw e;
+        }
+
+        final AllowListImportResult result = new AllowListImportResult(
+                toggleName,
+                received,
+                inserted,
+                received - rejected - inserted,
+                rejected,
+                List.copyOf(errors),
+                Duration.ofNanos(System.nanoTime() - startedAt)
+        );
+        metricsService.incrementAllowListImported(inserted);
+        completeImport(result, true);
+        log.info("Allow list import finished: toggle={} received={} inserted={} duplicates={} rejected={} rate={}/s",
+                toggleName, received, inserted, result.duplicates(), rejected, Math.round(result.valuesPerSecond()));
+        return result;
+    }
+
+    private long writeChunk(String toggleName, Set<String> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        final Integer inserted = transactionTemplate.execute(status -> {
+            // Waits for a concurrent update of the allow list, whose inserts would collide with this chunk's
+            toggleRepository.findForUpdateByName(toggleName)
+                    .orElseThrow(() -> new ToggleNotFoundException(toggleName));
+            return properties.isCopyEnabled()
+                    ? allowListEntryRepository.copyMissingValues(toggleName, values)
+                    : allowListEntryRepository.insertMissingValues(toggleName, values);
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    // One audit entry and one change notification for the whole import instead of one per value
+    private void completeImport(AllowListImportResult result, boolean finished) {
+        transactionTemplate.executeWithoutResult(status -> {
+            auditService.logAction("IMPORT_ALLOW_LIST", "Toggle", Map.of(
+                    "toggleName", result.toggleName(),
+                    "received", result.received(),
+                    "inserted", result.inserted(),
+                    "finished", finished));
+            if (result.inserted() > 0) {
+                final Toggle toggle = toggleRepository.findByName(result.toggleName())
+                        .orElseThrow(() -> new ToggleNotFoundException(result.toggleName()));
+                notificationOrchestrator.notifyToggleChange(toggle, ChangeType.ALLOW_LIST_IMPORTED, null);
+            }
+        });
+    }
+
+    private void logProgress(String toggleName, long received, long inserted, long startedAt) {
+        final long elapsedMillis = Math.max(1, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        log.info("Allow list import progress: toggle={} received={} inserted={} rate={}/s",
+                toggleName, received, inserted, received * 1000 / elapsedMillis);
+    }
+
+    private void validateValue(String value) {
+        if (value == null || value.isBlank()) {
+            throw new ValidationException("Allow list value is required");
+        }
+        if (value.length() > MAX_VALUE_LENGTH) {
+            throw new ValidationException("Allow list value exceeds %d characters".formatted(MAX_VALUE_LENGTH));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fnl33.featuretoggle.service;
 
 import com.fnl33.featuretoggle.domain.Attribute;
+import com.fnl33.featuretoggle.domain.ChangeType;
 import com.fnl33.featuretoggle.domain.DataType;
 import com.fnl33.featuretoggle.repository.AttributeRepository;
 import com.fnl33.featuretoggle.repository.ToggleRepository;
@@ -46,6 +47,7 @@ public class AttributeService {
         final Attribute saved = attributeRepository.save(attribute);
         metricsService.incrementAttributeCreated();
         auditService.logAction("CREATE", "Attribute", Map.of("name", attribute.getName(), "dataType", attribute.getDataType()));
+        notificationOrchestrator.notifyAttributeChange(saved, ChangeType.ATTRIBUTE_CREATED, List.of());
         return saved;
     }
 
@@ -59,7 +61,7 @@ public class AttributeService {
         final Attribute saved = attributeRepository.save(existing);
         metricsService.incrementAttributeUpdated();
         auditService.logAction("UPDATE", "Attribute", Map.of("name", name, "dataType", dataType));
-        notificationOrchestrator.notifyAttributeChange(saved,
+        notificationOrchestrator.notifyAttributeChange(saved, ChangeType.ATTRIBUTE_UPDATED,
                 toggleRepository.findByAttribute_Name(name).stream().map(toggle -> toggle.getName()).toList());
         return saved;
     }
@@ -72,7 +74,7 @@ public class AttributeService {
         attributeRepository.delete(existing);
         metricsService.incrementAttributeDeleted();
         auditService.logAction("DELETE", "Attribute", Map.of("name", name));
-        notificationOrchestrator.notifyAttributeChange(existing, List.of());
+        notificationOrchestrator.notifyAttributeChange(existing, ChangeType.ATTRIBUTE_DELETED, List.of());
     }
 
     private void validateAttribute(Attribute attribute) {
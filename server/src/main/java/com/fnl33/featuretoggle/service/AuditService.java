@@ -1,49 +1,106 @@
 package com.fnl33.featuretoggle.service;
 
-import com.fnl33.featuretoggle.domain.AuditLog;
-import com.fnl33.featuretoggle.repository.AuditLogRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fnl33.featuretoggle.config.AuditProperties;
+import com.fnl33.featuretoggle.dto.AuditLogResponse;
+import com.fnl33.featuretoggle.repository.AuditLogEntry;
+import com.fnl33.featuretoggle.repository.AuditLogFilter;
+import com.fnl33.featuretoggle.repository.AuditLogQueryRepository;
+import com.fnl33.featuretoggle.service.audit.AuditEntry;
+import com.fnl33.featuretoggle.service.audit.AuditWriter;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 @Slf4j
 @Transactional
 public class AuditService {
 
-    private final AuditLogRepository auditLogRepository;
-    private final ObjectMapper objectMapper;
+    private static final char CURSOR_SEPARATOR = '/';
+
+    private final AuditWriter auditWriter;
+    private final AuditLogQueryRepository auditLogQueryRepository;
+    private final AuditProperties properties;
+    private final MetricsService metricsService;
+    private final ObjectWriter exportWriter;
 
-    public AuditService(AuditLogRepository auditLogRepository, ObjectMapper objectMapper) {
-        this.auditLogRepository = auditLogRepository;
-        this.objectMapper = objectMapper;
+    public AuditService(AuditWriter auditWriter,
+                        AuditLogQueryRepository auditLogQueryRepository,
+                        AuditProperties properties,
+                        MetricsService metricsService,
+                        ObjectMapper objectMapper) {
+        this.auditWriter = auditWriter;
+        this.auditLogQueryRepository = auditLogQueryRepository;
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.exportWriter = objectMapper.writerFor(AuditLogResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Logs an audit action with payload in summary format.
+     * Logs an audit action with payload in summary format. Depending on {@code audit.mode} the entry is
+     * written in the caller's transaction or queued for the background writer once it commits; actions
+     * whose transaction rolls back are not audited either way. When the queue is full the entry is
+     * dropped in {@code LOSSY} mode and otherwise written in the caller's transaction without waiting.
+     * A failed insert is not caught: on PostgreSQL it has already aborted the caller's transaction, so
+     * the action fails with the insert's error instead of a misleading one at commit.
      *
      * @param action  Action type (CREATE, UPDATE, DELETE, etc.)
      * @param resource Resource type affected (Toggle, Attribute, AllowListEntry, etc.)
      * @param payload Object with relevant action data
      */
     public void logAction(String action, String resource, Object payload) {
-        try {
-            String payloadJson = payload != null ? objectMapper.writeValueAsString(payload) : null;
-            
-            AuditLog auditLog = AuditLog.builder()
-                    .action(action)
-                    .resource(resource)
-                    .payload(payloadJson)
-                    .build();
-
-            auditLogRepository.save(auditLog);
-            
-            log.info("Audit: action={} resource={} timestamp={}", 
-                    action, resource, auditLog.getCreatedAt());
-        } catch (Exception e) {
-            log.error("Error logging audit action - action: {}, resource: {}", action, resource, e);
+        final AuditEntry entry = new AuditEntry(action, resource, payload, Instant.now());
+        if (properties.getMode() == AuditProperties.Mode.SYNC) {
+            auditWriter.write(List.of(entry));
+        } else if (auditWriter.reserve()) {
+            enqueueAfterCommit(entry);
+        } else if (properties.getMode() == AuditProperties.Mode.LOSSY && auditWriter.isRunning()) {
+            metricsService.incrementAuditOverflow("dropped");
+            log.warn("Audit queue full, dropping entry: action={} resource={}", action, resource);
+            return;
+        } else {
+            metricsService.incrementAuditOverflow("inline");
+            auditWriter.write(List.of(entry));
+        }
+
+        log.info("Audit: action={} resource={} timestamp={}", 
+                action, resource, entry.createdAt());
+    }
+
+    private void enqueueAfterCommit(AuditEntry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditWriter.enqueue(entry);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditWriter.enqueue(entry);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    auditWriter.cancel();
+                }
+            }
+        });
     }
 
     /**
@@ -52,4 +109,75 @@ public class AuditService {
     public void logAction(String action, String resource) {
         logAction(action, resource, null);
     }
+
+    /**
+     * Builds a filter from request parameters; blank values do not filter and times are ISO-8601 instants.
+     */
+    public AuditLogFilter filter(String resource, String action, String toggleName, String from, String to) {
+        final AuditLogFilter filter = new AuditLogFilter(blankToNull(resource), blankToNull(action),
+                blankToNull(toggleName), parseInstant("from", from), parseInstant("to", to));
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new ValidationException("from must be before to");
+        }
+        return filter;
+    }
+
+    /**
+     * Newest audit logs first, continuing after the entry whose key is {@code afterKey}.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<AuditLogEntry> findLogs(AuditLogFilter filter, String afterKey, int size) {
+        KeysetPage.validateSize(size);
+        Instant beforeCreatedAt = null;
+        UUID beforeId = null;
+        if (afterKey != null) {
+            final int separator = afterKey.indexOf(CURSOR_SEPARATOR);
+            try {
+                beforeCreatedAt = Instant.parse(afterKey.substring(0, Math.max(separator, 0)));
+                beforeId = UUID.fromString(afterKey.substring(separator + 1));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new ValidationException("Invalid page cursor");
+            }
+        }
+        final List<AuditLogEntry> rows = auditLogQueryRepository.findPage(filter, beforeCreatedAt, beforeId, size + 1);
+        return KeysetPage.of(rows, size, entry -> entry.createdAt().toString() + CURSOR_SEPARATOR + entry.id());
+    }
+
+    /**
+     * Writes every matching audit log, oldest first, to {@code outputStream} as newline-delimited JSON.
+     * Rows are streamed from a database cursor and written as they are read.
+     */
+    @Transactional(readOnly = true)
+    public void export(AuditLogFilter filter, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = exportWriter.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            try {
+                auditLogQueryRepository.forEach(filter, entry -> {
+                    try {
+                        exportWriter.writeValue(generator, AuditLogResponse.from(entry));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static Instant parseInstant(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid %s: %s".formatted(name, value));
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.fnl33.featuretoggle.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines like {@link java.io.BufferedReader#readLine()}, but keeps at most a fixed number of
+ * characters of each line, so a body without line breaks cannot exhaust memory. The rest of a longer
+ * line is skipped and {@link #lastLineTooLong()} reports it.
+ */
+final class BoundedLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final int maxLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private boolean tooLong;
+
+    BoundedLineReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return the next line without its terminator, cut at the maximum length, or {@code null} at the end
+     *         of the stream
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = Math.max(reader.read(buffer, 0, BUFFER_SIZE), 0);
+                position = 0;
+                if (limit == 0) {
+                    return read ? line.toString() : null;
+                }
+            }
+            final char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+            if (c == '\n') {
+                return line.toString();
+            }
+            if (c == '\r') {
+                skipLineFeed = true;
+                return line.toString();
+            }
+            if (line.length() < maxLength) {
+                line.append(c);
+            } else {
+                tooLong = true;
+            }
+        }
+    }
+
+    /**
+     * Whether the line last returned by {@link #readLine()} was longer than the maximum length.
+     */
+    boolean lastLineTooLong() {
+        return tooLong;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -6,12 +6,14 @@ import com.fnl33.featuretoggle.repository.ToggleRepository;
 import com.fnl33.featuretoggle.service.exception.ClientRegistrationNotFoundException;
 import com.fnl33.featuretoggle.service.exception.ToggleNotFoundException;
 import com.fnl33.featuretoggle.service.exception.ValidationException;
+import com.fnl33.featuretoggle.service.notification.SubscriptionIndex;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -25,12 +27,24 @@ public class ClientRegistrationService {
 
     private final ClientRegistrationRepository clientRegistrationRepository;
     private final ToggleRepository toggleRepository;
+    private final SubscriptionIndex subscriptionIndex;
     private final AuditService auditService;
     private final MetricsService metricsService;
 
     @Transactional(readOnly = true)
-    public Page<ClientRegistration> findAll(Pageable pageable) {
-        return clientRegistrationRepository.findAll(pageable);
+    public KeysetPage<ClientRegistration> findAll(String afterId, int size) {
+        KeysetPage.validateSize(size);
+        final List<UUID> ids = afterId == null
+                ? clientRegistrationRepository.findIds(Limit.of(size + 1))
+                : clientRegistrationRepository.findIdsAfter(parseClientId(afterId), Limit.of(size + 1));
+        final Map<UUID, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        final List<ClientRegistration> rows = clientRegistrationRepository.findByIdIn(ids).stream()
+                .sorted(Comparator.comparing(client -> positions.get(client.getId())))
+                .toList();
+        return KeysetPage.of(rows, size, client -> client.getId().toString());
     }
 
     @Transactional(readOnly = true)
@@ -52,6 +66,7 @@ public class ClientRegistrationService {
                 .toggles(togglesToPersist)
                 .build();
         final ClientRegistration saved = clientRegistrationRepository.save(registration);
+        subscriptionIndex.subscribe(saved.getId(), saved.getCallbackUrl(), togglesToPersist);
         metricsService.incrementClientRegistered();
         auditService.logAction("REGISTER", "Client", Map.of("clientId", saved.getId(), "toggleCount", toggles.size()));
         return saved;
@@ -60,13 +75,16 @@ public class ClientRegistrationService {
     public void unregister(UUID id) {
         final ClientRegistration existing = findById(id);
         clientRegistrationRepository.delete(existing);
+        subscriptionIndex.unsubscribe(id);
         metricsService.incrementClientUnregistered();
         auditService.logAction("UNREGISTER", "Client", Map.of("clientId", id));
     }
 
     @Transactional(readOnly = true)
     public List<ClientRegistration> findByToggleName(String toggleName) {
-        return clientRegistrationRepository.findByTogglesContains(toggleName);
+        return clientRegistrationRepository.findByIdIn(subscriptionIndex.subscriberIds(toggleName)).stream()
+                .sorted(Comparator.comparing(ClientRegistration::getId))
+                .toList();
     }
 
     public ClientRegistration updateClientToggles(UUID id, Set<String> toggleNames) {
@@ -81,10 +99,19 @@ public class ClientRegistrationService {
         
         client.setToggles(new HashSet<>(toggleNames));
         final ClientRegistration saved = clientRegistrationRepository.save(client);
+        subscriptionIndex.subscribe(id, saved.getCallbackUrl(), toggleNames);
         auditService.logAction("UPDATE_TOGGLES", "Client", Map.of("clientId", id, "toggleCount", toggleNames.size()));
         return saved;
     }
 
+    private UUID parseClientId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
     private void validateCallbackUrl(String callbackUrl) {
         if (callbackUrl == null || callbackUrl.isBlank()) {
             throw new ValidationException("Callback URL is required");
@@ -0,0 +1,22 @@
+package com.fnl33.featuretoggle.service;
+
+/**
+ * Why an evaluation returned its result; used to tag evaluation metrics.
+ */
+public enum EvaluationOutcome {
+    TOGGLE_NOT_FOUND("not_found"),
+    TOGGLE_DISABLED("disabled"),
+    VALUE_REQUIRED("value_required"),
+    VALUE_ALLOWED("allowed"),
+    VALUE_NOT_PERMITTED("not_permitted");
+
+    private final String tag;
+
+    EvaluationOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
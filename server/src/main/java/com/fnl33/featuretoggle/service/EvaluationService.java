@@ -1,40 +1,100 @@
 package com.fnl33.featuretoggle.service;
 
-import com.fnl33.featuretoggle.domain.Toggle;
-import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.dto.EvaluationRequest;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationCounters;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationSnapshot;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationSnapshotHolder;
+import com.fnl33.featuretoggle.service.evaluation.HeavyHitters;
+import com.fnl33.featuretoggle.service.evaluation.ToggleSnapshot;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import com.fnl33.featuretoggle.service.flightrecorder.EvaluationEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class EvaluationService {
 
-    private final ToggleRepository toggleRepository;
+    // Results are immutable, so every evaluation shares one instance per outcome
+    private static final EvaluationResult TOGGLE_NOT_FOUND = new EvaluationResult(false, "Toggle not found");
+    private static final EvaluationResult TOGGLE_DISABLED = new EvaluationResult(false, "Toggle disabled");
+    private static final EvaluationResult VALUE_REQUIRED = new EvaluationResult(false, "Value is required for evaluation");
+    private static final EvaluationResult VALUE_ALLOWED = new EvaluationResult(true, "Value is in allow list");
+    private static final EvaluationResult VALUE_NOT_PERMITTED = new EvaluationResult(false, "Value not permitted");
+
+    private final EvaluationSnapshotHolder snapshotHolder;
     private final MetricsService metricsService;
+    private final EvaluationCounters evaluationCounters;
+    private final HeavyHitters heavyHitters;
 
-    @Transactional(readOnly = true)
     public EvaluationResult evaluate(String toggleName, String value) {
         metricsService.incrementToggleEvaluation();
-        
-        final Toggle toggle = toggleRepository.findByName(toggleName).orElse(null);
+        return evaluate(snapshotHolder.current(), toggleName, value);
+    }
+
+    /**
+     * Evaluates every request against the same snapshot, returning results in request order.
+     */
+    public List<EvaluationResult> evaluateAll(List<EvaluationRequest> requests) {
+        metricsService.incrementToggleEvaluation(requests.size());
+        final EvaluationSnapshot snapshot = snapshotHolder.current();
+        final List<EvaluationResult> results = new ArrayList<>(requests.size());
+        for (EvaluationRequest request : requests) {
+            results.add(evaluate(snapshot, request.toggleName(), request.value()));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the names of the enabled toggles bound to the attribute whose allow list contains the value.
+     */
+    public List<String> findEnabledToggles(String attributeName, String value) {
+        if (attributeName == null || attributeName.isBlank()) {
+            throw new ValidationException("Attribute name is required");
+        }
+        if (value == null || value.isBlank()) {
+            throw new ValidationException("Value is required for evaluation");
+        }
+        final List<String> toggleNames = new ArrayList<>();
+        for (ToggleSnapshot toggle : snapshotHolder.current().togglesBoundTo(attributeName)) {
+            if (toggle.enabled() && toggle.allows(value)) {
+                toggleNames.add(toggle.name());
+            }
+        }
+        Collections.sort(toggleNames);
+        return toggleNames;
+    }
+
+    private EvaluationResult evaluate(EvaluationSnapshot snapshot, String toggleName, String value) {
+        // Not recording, the event is never committed and escape analysis removes the allocation
+        final EvaluationEvent event = new EvaluationEvent();
+        event.begin();
+        final ToggleSnapshot toggle = snapshot.find(toggleName);
         if (toggle == null) {
-            metricsService.incrementToggleEvaluationCacheMiss();
-            return new EvaluationResult(false, "Toggle not found");
+            heavyHitters.recordUnknownToggle(toggleName);
+            return counted(event, toggleName, EvaluationOutcome.TOGGLE_NOT_FOUND, TOGGLE_NOT_FOUND);
         }
-        if (!toggle.isEnabled()) {
-            return new EvaluationResult(false, "Toggle disabled");
+        if (!toggle.enabled()) {
+            return counted(event, toggleName, EvaluationOutcome.TOGGLE_DISABLED, TOGGLE_DISABLED);
         }
         if (value == null || value.isBlank()) {
-            return new EvaluationResult(false, "Value is required for evaluation");
+            return counted(event, toggleName, EvaluationOutcome.VALUE_REQUIRED, VALUE_REQUIRED);
         }
-        final boolean allowed = toggle.getAllowList().stream()
-                .anyMatch(entry -> entry.getValue().equals(value));
-        if (allowed) {
-            metricsService.incrementToggleEvaluationCacheHit();
-            return new EvaluationResult(true, "Value is in allow list");
+        heavyHitters.recordValue(toggleName, value);
+        if (toggle.allows(value)) {
+            return counted(event, toggleName, EvaluationOutcome.VALUE_ALLOWED, VALUE_ALLOWED);
         }
-        return new EvaluationResult(false, "Value not permitted");
+        return counted(event, toggleName, EvaluationOutcome.VALUE_NOT_PERMITTED, VALUE_NOT_PERMITTED);
     }
-}
 
+    private EvaluationResult counted(EvaluationEvent event, String toggleName, EvaluationOutcome outcome,
+                                     EvaluationResult result) {
+        evaluationCounters.record(toggleName, outcome);
+        event.end(toggleName, outcome);
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) listing. {@code nextKey} is the sort key of the last element,
+ * or {@code null} when there are no further pages.
+ */
+public record KeysetPage<T>(List<T> content, int size, String nextKey) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows, the extra row only
+     * signalling that another page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, String> keyExtractor) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, size, null);
+        }
+        final List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, size, keyExtractor.apply(content.get(size - 1)));
+    }
+
+    public static void validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Page size must be between 1 and %d".formatted(MAX_SIZE));
+        }
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(content.stream().map(mapper).toList(), size, nextKey);
+    }
+}
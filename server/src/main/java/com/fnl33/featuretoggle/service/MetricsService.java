@@ -1,10 +1,15 @@
 package com.fnl33.featuretoggle.service;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
 @Service
 public class MetricsService {
 
@@ -12,8 +17,6 @@ public class MetricsService {
 
     // Counters
     private final Counter toggleEvaluationCounter;
-    private final Counter toggleEvaluationCacheHitCounter;
-    private final Counter toggleEvaluationCacheMissCounter;
     private final Counter toggleCreatedCounter;
     private final Counter toggleUpdatedCounter;
     private final Counter toggleDeletedCounter;
@@ -22,11 +25,23 @@ public class MetricsService {
     private final Counter attributeDeletedCounter;
     private final Counter clientRegisteredCounter;
     private final Counter clientUnregisteredCounter;
+    private final Counter allowListImportedCounter;
+    private final Counter webhookFailedCounter;
+    private final Counter webhookDeadLetteredCounter;
+    private final Counter webhookParkedCounter;
+    private final Counter auditWrittenCounter;
+    private final Counter auditFailedCounter;
+    private final Counter unknownToggleHitCounter;
+    private final Counter snapshotRefreshCoalescedCounter;
+    private final Counter snapshotRefreshFailedCounter;
+    private final Counter clusterReloadCounter;
 
     // Timers
     private final Timer toggleEvaluationTimer;
     private final Timer toggleServiceTimer;
     private final Timer attributeServiceTimer;
+    private final Timer webhookDeliveryTimer;
+    private final Timer auditFlushTimer;
 
     public MetricsService(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -36,14 +51,6 @@ public class MetricsService {
                 .description("Total number of toggle evaluations")
                 .register(meterRegistry);
 
-        this.toggleEvaluationCacheHitCounter = Counter.builder("toggle.evaluation.cache.hits")
-                .description("Number of toggle evaluation cache hits")
-                .register(meterRegistry);
-
-        this.toggleEvaluationCacheMissCounter = Counter.builder("toggle.evaluation.cache.misses")
-                .description("Number of toggle evaluation cache misses")
-                .register(meterRegistry);
-
         this.toggleCreatedCounter = Counter.builder("toggle.created.total")
                 .description("Total number of toggles created")
                 .register(meterRegistry);
@@ -76,6 +83,46 @@ public class MetricsService {
                 .description("Total number of clients unregistered")
                 .register(meterRegistry);
 
+        this.allowListImportedCounter = Counter.builder("allowlist.imported.total")
+                .description("Total number of allow list values inserted by bulk imports")
+                .register(meterRegistry);
+
+        this.webhookFailedCounter = Counter.builder("webhook.deliveries.failed")
+                .description("Number of webhook deliveries that failed or were rejected by the client")
+                .register(meterRegistry);
+
+        this.webhookDeadLetteredCounter = Counter.builder("webhook.deliveries.dead")
+                .description("Number of webhook notifications dead-lettered after exhausting their attempts")
+                .register(meterRegistry);
+
+        this.webhookParkedCounter = Counter.builder("webhook.deliveries.parked")
+                .description("Number of webhook notifications postponed because their host's circuit was open")
+                .register(meterRegistry);
+
+        this.auditWrittenCounter = Counter.builder("audit.records.written")
+                .description("Number of audit records written")
+                .register(meterRegistry);
+
+        this.auditFailedCounter = Counter.builder("audit.records.failed")
+                .description("Number of audit records lost because their insert failed")
+                .register(meterRegistry);
+
+        this.unknownToggleHitCounter = Counter.builder("toggle.lookup.unknown.hits")
+                .description("Number of toggle lookups answered 404 from the unknown toggle name cache")
+                .register(meterRegistry);
+
+        this.snapshotRefreshCoalescedCounter = Counter.builder("toggle.evaluation.refreshes.coalesced")
+                .description("Number of evaluation snapshot refreshes folded into a pending refresh of the same toggle")
+                .register(meterRegistry);
+
+        this.snapshotRefreshFailedCounter = Counter.builder("toggle.evaluation.refreshes.failed")
+                .description("Number of evaluation snapshot refreshes that failed and were queued again")
+                .register(meterRegistry);
+
+        this.clusterReloadCounter = Counter.builder("cluster.reloads")
+                .description("Number of full evaluation snapshot reloads after missing more cluster changes than can be replayed")
+                .register(meterRegistry);
+
         // Initialize Timers
         this.toggleEvaluationTimer = Timer.builder("toggle.evaluation.duration")
                 .description("Time taken to evaluate a toggle")
@@ -88,6 +135,14 @@ public class MetricsService {
         this.attributeServiceTimer = Timer.builder("attribute.service.duration")
                 .description("Time taken for attribute service operations")
                 .register(meterRegistry);
+
+        this.webhookDeliveryTimer = Timer.builder("webhook.delivery.duration")
+                .description("Time taken to deliver a webhook notification")
+                .register(meterRegistry);
+
+        this.auditFlushTimer = Timer.builder("audit.flush.duration")
+                .description("Time taken to write a batch of audit records")
+                .register(meterRegistry);
     }
 
     // Counter increments
@@ -95,12 +150,8 @@ public class MetricsService {
         toggleEvaluationCounter.increment();
     }
 
-    public void incrementToggleEvaluationCacheHit() {
-        toggleEvaluationCacheHitCounter.increment();
-    }
-
-    public void incrementToggleEvaluationCacheMiss() {
-        toggleEvaluationCacheMissCounter.increment();
+    public void incrementToggleEvaluation(int count) {
+        toggleEvaluationCounter.increment(count);
     }
 
     public void incrementToggleCreated() {
@@ -135,6 +186,172 @@ public class MetricsService {
         clientUnregisteredCounter.increment();
     }
 
+    public void incrementAllowListImported(long count) {
+        allowListImportedCounter.increment(count);
+    }
+
+    public void incrementWebhookFailed() {
+        webhookFailedCounter.increment();
+    }
+
+    public void incrementWebhookDeadLettered() {
+        webhookDeadLetteredCounter.increment();
+    }
+
+    public void incrementWebhookParked(int count) {
+        webhookParkedCounter.increment(count);
+    }
+
+    public void incrementWebhookHostTransition(String host, String state) {
+        Counter.builder("webhook.host.transitions")
+                .description("Number of circuit state changes of a callback host")
+                .tag("host", host)
+                .tag("state", state)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void incrementAuditWritten(int count) {
+        auditWrittenCounter.increment(count);
+    }
+
+    public void incrementAuditFailed(int count) {
+        auditFailedCounter.increment(count);
+    }
+
+    public void incrementUnknownToggleHit() {
+        unknownToggleHitCounter.increment();
+    }
+
+    public void incrementSnapshotRefreshCoalesced() {
+        snapshotRefreshCoalescedCounter.increment();
+    }
+
+    public void incrementAuditOverflow(String outcome) {
+        Counter.builder("audit.queue.overflow")
+                .description("Number of audit records that found the queue full")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void incrementSnapshotRefreshFailed() {
+        snapshotRefreshFailedCounter.increment();
+    }
+
+    public void incrementClusterChangesApplied(String source, int count) {
+        Counter.builder("cluster.changes.applied")
+                .description("Number of changes made on other instances applied to the caches of this one")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    public void incrementClusterReload() {
+        clusterReloadCounter.increment();
+    }
+
+    /**
+     * Publishes an evaluation count kept by the caller; the adder is only read when metrics are scraped.
+     */
+    public void registerToggleEvaluationCounter(String toggleName, String outcome, LongAdder adder) {
+        FunctionCounter.builder("toggle.evaluations", adder, LongAdder::sum)
+                .description("Number of toggle evaluations by toggle and outcome")
+                .tag("toggle", toggleName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void removeToggleEvaluationCounters(String toggleName) {
+        meterRegistry.find("toggle.evaluations").tag("toggle", toggleName).meters().forEach(meterRegistry::remove);
+    }
+
+    // Gauges
+    public void registerAllowListGauges(Supplier<Number> entries, Supplier<Number> estimatedBytes) {
+        Gauge.builder("toggle.evaluation.allowlist.entries", entries)
+                .description("Number of allow list values held by the evaluation snapshot")
+                .register(meterRegistry);
+        Gauge.builder("toggle.evaluation.allowlist.memory", estimatedBytes)
+                .description("Estimated heap used by the allow lists of the evaluation snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void registerSnapshotRefreshGauges(Supplier<Number> pending) {
+        Gauge.builder("toggle.evaluation.refreshes.pending", pending)
+                .description("Number of toggles waiting for the evaluation snapshot refresher")
+                .register(meterRegistry);
+    }
+
+    public void registerWebhookGauges(Supplier<Number> inFlight) {
+        Gauge.builder("webhook.deliveries.inflight", inFlight)
+                .description("Number of webhook deliveries currently being sent")
+                .register(meterRegistry);
+    }
+
+    public void registerWebhookHostGauges(String host, Supplier<Number> state, Supplier<Number> failureRate,
+                                          Supplier<Number> latencyMillis) {
+        Gauge.builder("webhook.host.state", state)
+                .description("Circuit state of a callback host: 0 closed, 1 half-open, 2 open")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("webhook.host.failure.rate", failureRate)
+                .description("Smoothed share of failed or slow deliveries to a callback host")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("webhook.host.latency", latencyMillis)
+                .description("Smoothed delivery latency of a callback host")
+                .tag("host", host)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void registerStreamGauges(Supplier<Number> connections) {
+        Gauge.builder("stream.connections", connections)
+                .description("Number of open toggle change streams")
+                .register(meterRegistry);
+    }
+
+    public void registerChangeFeedGauges(Supplier<Number> waiting) {
+        Gauge.builder("changes.waiting", waiting)
+                .description("Number of changes requests waiting for a new revision")
+                .register(meterRegistry);
+    }
+
+    public void registerAuditGauges(Supplier<Number> depth, Supplier<Number> capacity) {
+        Gauge.builder("audit.queue.depth", depth)
+                .description("Number of audit records waiting for the background writer")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.capacity", capacity)
+                .description("Number of audit records the queue holds")
+                .register(meterRegistry);
+    }
+
+    public void registerAuditPartitionGauges(Supplier<Number> defaultPartitionRows) {
+        Gauge.builder("audit.partitions.default.rows", defaultPartitionRows)
+                .description("Audit records in the default partition of audit_logs, whose month has no partition yet")
+                .register(meterRegistry);
+    }
+
+    public void registerUnknownToggleGauges(Supplier<Number> size) {
+        Gauge.builder("toggle.lookup.unknown.size", size)
+                .description("Number of toggle names held by the unknown toggle name cache")
+                .register(meterRegistry);
+    }
+
+    public void registerClusterGauges(Supplier<Number> listening) {
+        Gauge.builder("cluster.listener.connected", listening)
+                .description("1 while the connection listening for cluster changes is open, 0 otherwise")
+                .register(meterRegistry);
+    }
+
+    public void registerHeavyHitterGauges(Supplier<Number> sketchBytes) {
+        Gauge.builder("toggle.evaluation.hotspots.memory", sketchBytes)
+                .description("Heap used by the count-min sketches of the current and previous heavy-hitter windows")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
     // Timer operations
     public Timer.Sample startToggleEvaluationTimer() {
         return Timer.start(meterRegistry);
@@ -160,6 +377,22 @@ public class MetricsService {
         sample.stop(attributeServiceTimer);
     }
 
+    public Timer.Sample startWebhookTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordWebhookTime(Timer.Sample sample) {
+        sample.stop(webhookDeliveryTimer);
+    }
+
+    public Timer.Sample startAuditFlushTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordAuditFlushTime(Timer.Sample sample) {
+        sample.stop(auditFlushTimer);
+    }
+
     // Convenience method for executing code with timing
     public void timeToggleEvaluation(Runnable task) {
         toggleEvaluationTimer.record(task);
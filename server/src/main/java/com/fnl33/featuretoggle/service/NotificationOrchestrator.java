@@ -1,49 +1,95 @@
 package com.fnl33.featuretoggle.service;
 
+import com.fnl33.featuretoggle.config.NotificationProperties;
 import com.fnl33.featuretoggle.domain.Attribute;
-import com.fnl33.featuretoggle.domain.ClientRegistration;
+import com.fnl33.featuretoggle.domain.ChangeType;
 import com.fnl33.featuretoggle.domain.Toggle;
-import com.fnl33.featuretoggle.repository.ClientRegistrationRepository;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.repository.NotificationOutboxRepository;
+import com.fnl33.featuretoggle.service.cluster.ClusterChannel;
 import com.fnl33.featuretoggle.service.event.AttributeChangedEvent;
 import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import com.fnl33.featuretoggle.service.notification.SubscriptionIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
 
 @Component
 @RequiredArgsConstructor
 public class NotificationOrchestrator {
 
-    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final SubscriptionIndex subscriptionIndex;
     private final ApplicationEventPublisher eventPublisher;
+    private final NotificationProperties notificationProperties;
+    private final ClusterChannel clusterChannel;
 
-    public void notifyToggleChange(Toggle toggle, String value) {
-        final List<String> callbackUrls = clientRegistrationRepository.findByTogglesContains(toggle.getName()).stream()
-                .map(ClientRegistration::getCallbackUrl)
-                .toList();
-        final ToggleNotificationEvent event = new ToggleNotificationEvent(toggle.getName(), toggle.isEnabled(), value, callbackUrls);
-        publishAfterCommit(event);
+    /**
+     * Queues a webhook notification for every subscriber of the toggle in the current transaction, so it
+     * is committed or rolled back with the change, and stamps the change with the next global revision
+     * right before the transaction commits. In-process caches are refreshed once it commits, and other
+     * instances are notified then and refresh theirs in turn. Notifications are held for the debounce
+     * window, and changes within it share a single delivery.
+     */
+    public void notifyToggleChange(Toggle toggle, ChangeType changeType, String value) {
+        enqueue(List.of(toggle.getName()));
+        recordChange(changeType, toggle.getName(), value, toggle::setRevision,
+                revision -> new ToggleNotificationEvent(toggle.getName(), value, revision));
     }
 
-    public void notifyAttributeChange(Attribute attribute, List<String> affectedToggleNames) {
-        final AttributeChangedEvent event = new AttributeChangedEvent(attribute.getName(), List.copyOf(affectedToggleNames));
-        publishAfterCommit(event);
+    public void notifyAttributeChange(Attribute attribute, ChangeType changeType, List<String> affectedToggleNames) {
+        enqueue(affectedToggleNames);
+        final List<String> toggleNames = List.copyOf(affectedToggleNames);
+        recordChange(changeType, attribute.getName(), null, attribute::setRevision,
+                revision -> new AttributeChangedEvent(attribute.getName(), toggleNames, revision));
     }
 
-    private void publishAfterCommit(Object event) {
-        if (TransactionSynchronizationManager.isActualTransactionActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    eventPublisher.publishEvent(event);
-                }
-            });
-        } else {
-            eventPublisher.publishEvent(event);
+    private void enqueue(List<String> toggleNames) {
+        if (toggleNames.isEmpty()) {
+            return;
         }
+        final Instant now = Instant.now();
+        notificationOutboxRepository.enqueue(subscriptionIndex.subscribers(toggleNames), now,
+                now.plus(notificationProperties.getDebounceWindow()));
+    }
+
+    // The revision counter row stays locked from the increment until commit and every writer in the cluster
+    // needs it, so it is taken in beforeCommit, after the rest of the transaction's work
+    private void recordChange(ChangeType changeType, String name, String value, LongConsumer stamp,
+                              LongFunction<Object> event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            final long revision = append(changeType, name, value, stamp);
+            eventPublisher.publishEvent(event.apply(revision));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long revision;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                revision = append(changeType, name, value, stamp);
+            }
+
+            @Override
+            public void afterCommit() {
+                eventPublisher.publishEvent(event.apply(revision));
+            }
+        });
+    }
+
+    private long append(ChangeType changeType, String name, String value, LongConsumer stamp) {
+        final long revision = changeLogRepository.append(changeType, name, value, clusterChannel.origin(),
+                Instant.now());
+        stamp.accept(revision);
+        clusterChannel.publish(changeType, name, value, revision);
+        return revision;
     }
 }
@@ -2,6 +2,7 @@ package com.fnl33.featuretoggle.service;
 
 import com.fnl33.featuretoggle.domain.AllowListEntry;
 import com.fnl33.featuretoggle.domain.Attribute;
+import com.fnl33.featuretoggle.domain.ChangeType;
 import com.fnl33.featuretoggle.domain.Toggle;
 import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
 import com.fnl33.featuretoggle.repository.AttributeRepository;
@@ -11,12 +12,13 @@ import com.fnl33.featuretoggle.service.exception.AttributeNotFoundException;
 import com.fnl33.featuretoggle.service.exception.ToggleNotFoundException;
 import com.fnl33.featuretoggle.service.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,23 +34,39 @@ public class ToggleService {
     private final NotificationOrchestrator notificationOrchestrator;
     private final AuditService auditService;
     private final MetricsService metricsService;
+    private final UnknownToggleNames unknownToggleNames;
 
     @Transactional(readOnly = true)
-    public Page<Toggle> findAll(Pageable pageable) {
-        return toggleRepository.findAll(pageable);
+    public KeysetPage<Toggle> findAll(String afterName, int size) {
+        KeysetPage.validateSize(size);
+        final List<Toggle> rows = toggleRepository.findByNameGreaterThanOrderByNameAsc(
+                afterName == null ? "" : afterName, Limit.of(size + 1));
+        return KeysetPage.of(rows, size, Toggle::getName);
     }
 
+    /**
+     * Looks the toggle up for reading; names recently found missing are rejected without a query.
+     */
     @Transactional(readOnly = true)
     public Toggle findByName(String name) {
-        return toggleRepository.findByName(name)
-                .orElseThrow(() -> new ToggleNotFoundException(name));
+        if (unknownToggleNames.contains(name)) {
+            throw new ToggleNotFoundException(name);
+        }
+        final long generation = unknownToggleNames.generation();
+        return toggleRepository.findByName(name).orElseThrow(() -> {
+            unknownToggleNames.add(name, generation);
+            return new ToggleNotFoundException(name);
+        });
     }
 
     @Transactional(readOnly = true)
-    public Page<String> findAllowListValues(String toggleName, Pageable pageable) {
+    public KeysetPage<String> findAllowListValues(String toggleName, String afterValue, int size) {
+        KeysetPage.validateSize(size);
         findByName(toggleName);
-        return allowListEntryRepository.findByToggle_Name(toggleName, pageable)
-                .map(AllowListEntry::getValue);
+        // Values are never blank, so the empty string sorts before every stored value
+        final List<String> rows = allowListEntryRepository.findValuesAfter(
+                toggleName, afterValue == null ? "" : afterValue, Limit.of(size + 1));
+        return KeysetPage.of(rows, size, value -> value);
     }
 
     public Toggle create(String name, String description, boolean enabled, String attributeName, List<String> allowListValues) {
@@ -63,61 +81,79 @@ public class ToggleService {
                 .enabled(enabled)
                 .attribute(attribute)
                 .build();
-        syncAllowList(toggle, allowListValues);
-        final Toggle saved = toggleRepository.save(toggle);
+        final Set<String> values = validateAllowListValues(allowListValues);
+        // The toggle row must exist before the batched allow-list inserts reference it
+        final Toggle saved = toggleRepository.saveAndFlush(toggle);
+        allowListEntryRepository.insertValues(name, values);
         metricsService.incrementToggleCreated();
         auditService.logAction("CREATE", "Toggle", Map.of("name", name, "enabled", enabled, "attribute", attributeName));
-        notificationOrchestrator.notifyToggleChange(saved, null);
+        notificationOrchestrator.notifyToggleChange(saved, ChangeType.TOGGLE_CREATED, null);
         return saved;
     }
 
     public Toggle update(String name, String description, boolean enabled, String attributeName, List<String> allowListValues) {
-        final Toggle existing = findByName(name);
+        final Toggle existing = lockExisting(name);
         final Attribute attribute = resolveAttribute(attributeName);
         existing.setDescription(description);
         existing.setEnabled(enabled);
         existing.setAttribute(attribute);
-        syncAllowList(existing, allowListValues);
+        syncAllowList(name, validateAllowListValues(allowListValues));
         final Toggle saved = toggleRepository.save(existing);
         metricsService.incrementToggleUpdated();
         auditService.logAction("UPDATE", "Toggle", Map.of("name", name, "enabled", enabled, "attribute", attributeName));
-        notificationOrchestrator.notifyToggleChange(saved, null);
+        notificationOrchestrator.notifyToggleChange(saved, ChangeType.TOGGLE_UPDATED, null);
         return saved;
     }
 
     public void delete(String name) {
-        final Toggle existing = findByName(name);
+        final Toggle existing = findExisting(name);
         toggleRepository.delete(existing);
         metricsService.incrementToggleDeleted();
         auditService.logAction("DELETE", "Toggle", Map.of("name", name));
-        notificationOrchestrator.notifyToggleChange(existing, null);
+        notificationOrchestrator.notifyToggleChange(existing, ChangeType.TOGGLE_DELETED, null);
     }
 
     public AllowListEntry addAllowListEntry(String toggleName, String value) {
-        final Toggle toggle = findByName(toggleName);
+        final Toggle toggle = lockExisting(toggleName);
         validateAllowListValue(value);
-        if (allowListEntryRepository.existsByToggle_NameAndValue(toggleName, value)) {
-            throw new ValidationException("Value already present in allow list for toggle %s".formatted(toggleName));
-        }
         final AllowListEntry entry = AllowListEntry.builder()
                 .toggle(toggle)
                 .value(value)
                 .build();
-        toggle.getAllowList().add(entry);
-        final Toggle saved = toggleRepository.save(toggle);
+        // Insert the single row and let uk_allow_list_entry_toggle_value reject duplicates instead of
+        // initializing the whole allow-list collection just to add one element
+        try {
+            allowListEntryRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateAllowListEntry(e)) {
+                throw new ValidationException("Value already present in allow list for toggle %s".formatted(toggleName));
+            }
+            throw e;
+        }
         auditService.logAction("ADD_ALLOW_LIST", "Toggle", Map.of("toggleName", toggleName, "value", value));
-        notificationOrchestrator.notifyToggleChange(saved, value);
+        notificationOrchestrator.notifyToggleChange(toggle, ChangeType.ALLOW_LIST_VALUE_ADDED, value);
         return entry;
     }
 
     public void removeAllowListEntry(String toggleName, String value) {
-        final Toggle toggle = findByName(toggleName);
-        final AllowListEntry entry = allowListEntryRepository.findByToggle_NameAndValue(toggleName, value)
-                .orElseThrow(() -> new AllowListEntryNotFoundException(toggleName, value));
-        toggle.getAllowList().remove(entry);
-        allowListEntryRepository.delete(entry);
+        final Toggle toggle = lockExisting(toggleName);
+        if (allowListEntryRepository.deleteByToggleNameAndValue(toggleName, value) == 0) {
+            throw new AllowListEntryNotFoundException(toggleName, value);
+        }
         auditService.logAction("REMOVE_ALLOW_LIST", "Toggle", Map.of("toggleName", toggleName, "value", value));
-        notificationOrchestrator.notifyToggleChange(toggle, value);
+        notificationOrchestrator.notifyToggleChange(toggle, ChangeType.ALLOW_LIST_VALUE_REMOVED, value);
+    }
+
+    // Writes always query, so a toggle just created on another instance is never reported missing
+    private Toggle findExisting(String name) {
+        return toggleRepository.findByName(name)
+                .orElseThrow(() -> new ToggleNotFoundException(name));
+    }
+
+    // Allow-list writers are serialized per toggle, so syncAllowList diffs against values no one else is changing
+    private Toggle lockExisting(String name) {
+        return toggleRepository.findForUpdateByName(name)
+                .orElseThrow(() -> new ToggleNotFoundException(name));
     }
 
     private Attribute resolveAttribute(String attributeName) {
@@ -128,19 +164,33 @@ public class ToggleService {
                 .orElseThrow(() -> new AttributeNotFoundException(attributeName));
     }
 
-    private void syncAllowList(Toggle toggle, List<String> allowListValues) {
-        toggle.getAllowList().clear();
+    // Applies only the difference to the stored values so a small change to a large allow list
+    // issues a handful of batched statements instead of deleting and re-inserting every row
+    private void syncAllowList(String toggleName, Set<String> requestedValues) {
+        final List<String> currentValues = allowListEntryRepository.findValuesByToggleName(toggleName);
+        final AllowListDiff diff = AllowListDiff.between(currentValues, requestedValues);
+        allowListEntryRepository.deleteValues(toggleName, diff.toDelete());
+        allowListEntryRepository.insertValues(toggleName, diff.toInsert());
+    }
+
+    private Set<String> validateAllowListValues(List<String> allowListValues) {
         if (allowListValues == null || allowListValues.isEmpty()) {
-            return;
+            return Set.of();
         }
-        Set<String> uniqueValues = new HashSet<>();
+        final Set<String> uniqueValues = new LinkedHashSet<>();
         for (String value : allowListValues) {
             validateAllowListValue(value);
             if (!uniqueValues.add(value)) {
                 throw new ValidationException("Duplicate allow list value: %s".formatted(value));
             }
-            toggle.getAllowList().add(AllowListEntry.builder().toggle(toggle).value(value).build());
         }
+        return uniqueValues;
+    }
+
+    private boolean isDuplicateAllowListEntry(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains("uk_allow_list_entry_toggle_value");
     }
 
     private void validateAllowListValue(String value) {
@@ -0,0 +1,84 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fnl33.featuretoggle.config.ToggleLookupProperties;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of toggle names recently looked up and not found, so repeated requests for a deleted or
+ * misspelt toggle are answered without a query. Entries expire after {@code toggle-lookup.unknown-name-ttl}
+ * and are removed as soon as a change to the toggle is committed, which covers its creation.
+ */
+@Component
+public class UnknownToggleNames {
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    // Bumped by every change; a miss is only remembered if no change was committed while it was looked up
+    private final AtomicLong generation = new AtomicLong();
+    private final MetricsService metricsService;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public UnknownToggleNames(ToggleLookupProperties properties, MetricsService metricsService) {
+        this.metricsService = metricsService;
+        this.ttlNanos = properties.getUnknownNameTtl().toNanos();
+        this.maxEntries = properties.getUnknownNameMaxEntries();
+        metricsService.registerUnknownToggleGauges(expiries::size);
+    }
+
+    public boolean contains(String toggleName) {
+        final Long expiresAt = expiries.get(toggleName);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() > 0) {
+            metricsService.incrementUnknownToggleHit();
+            return true;
+        }
+        expiries.remove(toggleName, expiresAt);
+        return false;
+    }
+
+    /**
+     * Returns the value to pass to {@link #add} once the lookup it precedes found nothing.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void add(String toggleName, long lookupGeneration) {
+        if (ttlNanos <= 0 || (expiries.size() >= maxEntries && !removeExpired())) {
+            return;
+        }
+        expiries.put(toggleName, System.nanoTime() + ttlNanos);
+        // The toggle may have been created after the lookup; the change listener may have run before the put
+        if (generation.get() != lookupGeneration) {
+            expiries.remove(toggleName);
+        }
+    }
+
+    /**
+     * Forgets every name, for when changes may have been missed.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        expiries.clear();
+    }
+
+    @EventListener
+    public void onToggleChanged(ToggleNotificationEvent event) {
+        generation.incrementAndGet();
+        expiries.remove(event.toggleName());
+    }
+
+    private boolean removeExpired() {
+        final long now = System.nanoTime();
+        expiries.values().removeIf(expiresAt -> expiresAt - now <= 0);
+        return expiries.size() < maxEntries;
+    }
+}
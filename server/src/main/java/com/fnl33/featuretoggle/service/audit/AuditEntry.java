@@ -0,0 +1,15 @@
+package com.fnl33.featuretoggle.service.audit;
+
+import java.time.Instant;
+
+/**
+ * An audited action waiting to be written. The payload is serialized by the writer, so it must not be
+ * modified after the entry is submitted.
+ */
+public record AuditEntry(
+    String action,
+    String resource,
+    Object payload,
+    Instant createdAt
+) {
+}
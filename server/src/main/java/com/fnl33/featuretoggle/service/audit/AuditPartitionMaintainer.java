@@ -0,0 +1,112 @@
+package com.fnl33.featuretoggle.service.audit;
+
+import com.fnl33.featuretoggle.config.AuditProperties;
+import com.fnl33.featuretoggle.repository.AuditPartitionRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the monthly partitions of {@code audit_logs} in shape on PostgreSQL: partitions for the current
+ * month and the next {@code audit.partitions-ahead} months exist before rows arrive, and partitions whose
+ * whole month is older than {@code audit.retention-months} are dropped or detached. Runs at startup and
+ * every {@code audit.partition-maintenance-interval}; instances take turns through an advisory lock.
+ * <p>
+ * Rows of a month without a partition, for instance while maintenance was failing, land in the default
+ * partition and are counted by the {@code audit.partitions.default.rows} gauge; the next successful run
+ * creates their months and moves them there.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "audit", name = "partitioning-enabled", havingValue = "true", matchIfMissing = true)
+public class AuditPartitionMaintainer implements SchedulingConfigurer {
+
+    private final AuditPartitionRepository partitionRepository;
+    private final AuditProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsService metricsService;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    public AuditPartitionMaintainer(AuditPartitionRepository partitionRepository,
+                                    AuditProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    MetricsService metricsService) {
+        this.partitionRepository = partitionRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        // Only the PostgreSQL migrations partition audit_logs
+        if (!partitionRepository.isPartitioned()) {
+            log.info("Audit log partition maintenance skipped: audit_logs is not partitioned on this database");
+            return;
+        }
+        metricsService.registerAuditPartitionGauges(defaultPartitionRows::get);
+        taskRegistrar.addFixedDelayTask(this::maintain, properties.getPartitionMaintenanceInterval());
+    }
+
+    void maintain() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> maintain(YearMonth.now()));
+        } catch (RuntimeException e) {
+            log.error("Error maintaining audit log partitions", e);
+        }
+        try {
+            final long rows = partitionRepository.countDefaultPartitionRows();
+            defaultPartitionRows.set(rows);
+            if (rows > 0) {
+                log.warn("Audit log rows without a monthly partition: rows={}", rows);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error counting audit log rows in the default partition", e);
+        }
+    }
+
+    private void maintain(YearMonth currentMonth) {
+        partitionRepository.lockForMaintenance();
+        final List<YearMonth> existing = partitionRepository.findPartitionMonths();
+        final YearMonth oldestKept = currentMonth.minusMonths(properties.getRetentionMonths());
+        // Months ahead, and months whose rows went to the default partition while none existed
+        final TreeSet<YearMonth> wanted = new TreeSet<>();
+        for (int ahead = 0; ahead <= properties.getPartitionsAhead(); ahead++) {
+            wanted.add(currentMonth.plusMonths(ahead));
+        }
+        for (YearMonth month : partitionRepository.findDefaultPartitionMonths()) {
+            if (!month.isBefore(oldestKept)) {
+                wanted.add(month);
+            }
+        }
+        for (YearMonth month : wanted) {
+            if (!existing.contains(month)) {
+                final int moved = partitionRepository.createPartition(month);
+                log.info("Audit log partition created: {} movedFromDefault={}",
+                        AuditPartitionRepository.partitionName(month), moved);
+            }
+        }
+        for (YearMonth month : existing) {
+            if (!month.isBefore(oldestKept)) {
+                break;
+            }
+            if (properties.getExpiredPartitions() == AuditProperties.ExpiredPartitions.DETACH) {
+                partitionRepository.detachPartition(month);
+                log.info("Audit log partition detached: {}", AuditPartitionRepository.partitionName(month));
+            } else {
+                partitionRepository.dropPartition(month);
+                log.info("Audit log partition dropped: {}", AuditPartitionRepository.partitionName(month));
+            }
+        }
+    }
+}
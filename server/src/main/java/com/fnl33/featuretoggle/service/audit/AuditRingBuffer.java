@@ -0,0 +1,81 @@
+package com.fnl33.featuretoggle.service.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Every slot carries a sequence
+ * number: a producer claims a position with a CAS on the tail and publishes its element by advancing
+ * the slot's sequence, and the consumer frees the slot by advancing it a full lap. Producers never wait
+ * on each other beyond a failed CAS, and {@link #offer} fails immediately when the buffer is full.
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        final int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Approximate number of queued elements.
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(elements.length, tail.get() - head.get()));
+    }
+
+    /**
+     * Adds the element unless the buffer is full. Safe to call from any thread.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest published element, or returns {@code null} when there is none. Must only be
+     * called by one thread at a time.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        final long position = head.get();
+        final int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        final E element = (E) elements[index];
+        elements[index] = null;
+        head.set(position + 1);
+        sequences.set(index, position + elements.length);
+        return element;
+    }
+}
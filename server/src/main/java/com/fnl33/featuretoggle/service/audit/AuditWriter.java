@@ -0,0 +1,228 @@
+package com.fnl33.featuretoggle.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.AuditProperties;
+import com.fnl33.featuretoggle.repository.AuditLogRepository;
+import com.fnl33.featuretoggle.repository.AuditRecord;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.flightrecorder.AuditWriteEvent;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit entries to {@code audit_logs}. Queued entries sit in a bounded {@link AuditRingBuffer}
+ * that a dedicated thread drains every {@code audit.flush-interval}, or as soon as
+ * {@code audit.batch-size} entries are waiting, inserting each batch with one JDBC batch in its own
+ * transaction. Payloads are serialized on the writer thread, off the request path. Callers reserve their
+ * place while their transaction is still open, so a full queue is handled before commit, on the
+ * caller's own connection, rather than by taking a second connection after it.
+ */
+@Component
+@Slf4j
+public class AuditWriter {
+
+    private static final String TOGGLE_RESOURCE = "Toggle";
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final MetricsService metricsService;
+    private final AuditProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditRingBuffer<AuditEntry> buffer;
+    private final Thread writerThread;
+    /**
+     * Places reserved or occupied in the queue; never exceeds its capacity.
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+    private volatile boolean running = true;
+
+    public AuditWriter(AuditLogRepository auditLogRepository,
+                       ObjectMapper objectMapper,
+                       MetricsService metricsService,
+                       AuditProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.metricsService = metricsService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new AuditRingBuffer<>(properties.getQueueCapacity());
+        this.writerThread = Thread.ofPlatform().name("audit-writer").daemon().unstarted(this::run);
+        metricsService.registerAuditGauges(buffer::size, buffer::capacity);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Reserves a place in the queue for an entry that will be {@link #enqueue enqueued} once the caller's
+     * transaction commits, so a committed entry always fits. Never waits: the caller holds a connection.
+     *
+     * @return whether a place was reserved; {@code false} when the queue is full or the writer is stopped
+     */
+    public boolean reserve() {
+        final int capacity = buffer.capacity();
+        int current = reserved.get();
+        while (running && current < capacity) {
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = reserved.get();
+        }
+        return false;
+    }
+
+    /**
+     * Queues an entry into a place taken with {@link #reserve}.
+     */
+    public void enqueue(AuditEntry entry) {
+        if (!buffer.offer(entry)) {
+            reserved.decrementAndGet();
+            metricsService.incrementAuditFailed(1);
+            log.error("Audit queue rejected a reserved entry - action: {}, resource: {}",
+                    entry.action(), entry.resource());
+            return;
+        }
+        if (buffer.size() >= properties.getBatchSize()) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Gives back a place taken with {@link #reserve} whose entry will not be enqueued.
+     */
+    public void cancel() {
+        reserved.decrementAndGet();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Inserts the entries in the caller's transaction.
+     */
+    public void write(List<AuditEntry> entries) {
+        final AuditWriteEvent event = new AuditWriteEvent();
+        event.begin();
+        final List<AuditRecord> records = toRecords(entries);
+        boolean written = false;
+        try {
+            insert(records);
+            written = true;
+        } finally {
+            event.end("inline", records, written);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(properties.getFlushInterval().multipliedBy(10).plusSeconds(5).toMillis());
+        if (reserved.get() > 0) {
+            log.warn("Audit writer stopped with {} entries still queued or uncommitted", reserved.get());
+        }
+    }
+
+    private void run() {
+        final long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        while (running || reserved.get() > 0) {
+            drain();
+            if (buffer.size() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        drain();
+    }
+
+    private void drain() {
+        final int batchSize = properties.getBatchSize();
+        List<AuditEntry> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+        AuditEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            reserved.decrementAndGet();
+            batch.add(entry);
+            if (batch.size() == batchSize) {
+                flush(batch);
+                batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEntry> batch) {
+        final Timer.Sample sample = metricsService.startAuditFlushTimer();
+        final AuditWriteEvent event = new AuditWriteEvent();
+        event.begin();
+        final List<AuditRecord> records = toRecords(batch);
+        boolean written = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(records));
+            written = true;
+        } catch (RuntimeException e) {
+            metricsService.incrementAuditFailed(batch.size());
+            log.error("Error writing {} audit entries", batch.size(), e);
+        } finally {
+            event.end("batch", records, written);
+            metricsService.recordAuditFlushTime(sample);
+        }
+    }
+
+    private void insert(List<AuditRecord> records) {
+        auditLogRepository.insertAll(records);
+        metricsService.incrementAuditWritten(records.size());
+    }
+
+    private List<AuditRecord> toRecords(List<AuditEntry> entries) {
+        final List<AuditRecord> records = new ArrayList<>(entries.size());
+        for (AuditEntry entry : entries) {
+            records.add(toRecord(entry));
+        }
+        return records;
+    }
+
+    private AuditRecord toRecord(AuditEntry entry) {
+        String payloadJson = null;
+        if (entry.payload() != null) {
+            try {
+                payloadJson = objectMapper.writeValueAsString(entry.payload());
+            } catch (JsonProcessingException e) {
+                log.error("Error serializing audit payload - action: {}, resource: {}",
+                        entry.action(), entry.resource(), e);
+            }
+        }
+        return new AuditRecord(entry.action(), entry.resource(), payloadJson, toggleName(entry), entry.createdAt());
+    }
+
+    // Allow-list payloads name the toggle "toggleName"; toggle payloads are about the toggle "name"
+    private static String toggleName(AuditEntry entry) {
+        if (!(entry.payload() instanceof Map<?, ?> payload)) {
+            return null;
+        }
+        final Object toggleName = payload.get("toggleName");
+        if (toggleName != null) {
+            return toggleName.toString();
+        }
+        final Object name = payload.get("name");
+        return TOGGLE_RESOURCE.equals(entry.resource()) && name != null ? name.toString() : null;
+    }
+}
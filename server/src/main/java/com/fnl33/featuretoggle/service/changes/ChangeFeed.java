@@ -0,0 +1,212 @@
+package com.fnl33.featuretoggle.service.changes;
+
+import com.fnl33.featuretoggle.config.ChangeFeedProperties;
+import com.fnl33.featuretoggle.dto.ChangeResponse;
+import com.fnl33.featuretoggle.dto.ChangesResponse;
+import com.fnl33.featuretoggle.repository.ChangeLogEntry;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.service.KeysetPage;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.event.AttributeChangedEvent;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Serves the changes committed after a given revision, parking the request until there are some when
+ * asked to wait. Parked requests are async, so they hold no thread.
+ * <p>
+ * Waiters are woken by a dispatcher thread, which the after-commit events of this instance signal and
+ * which also checks the global revision periodically to catch changes committed on other instances.
+ * Each wake-up reads the log once for every waiter, on the dispatcher's own connection.
+ */
+@Component
+@Slf4j
+public class ChangeFeed implements SchedulingConfigurer {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeFeedProperties properties;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Thread dispatcherThread;
+    private volatile boolean running = true;
+    private long lastDispatchedRevision;
+
+    public ChangeFeed(ChangeLogRepository changeLogRepository,
+                      ChangeFeedProperties properties,
+                      MetricsService metricsService) {
+        this.changeLogRepository = changeLogRepository;
+        this.properties = properties;
+        this.dispatcherThread = Thread.ofPlatform().name("change-feed-dispatcher").daemon().unstarted(this::run);
+        metricsService.registerChangeFeedGauges(waiters::size);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcherThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(dispatcherThread);
+        dispatcherThread.join(properties.getCheckInterval().plusSeconds(5).toMillis());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::purge, properties.getPurgeInterval());
+    }
+
+    /**
+     * Returns up to {@code size} changes after {@code since}, waiting up to {@code wait} for one when
+     * there are none yet. Without {@code since}, returns the current revision to start from.
+     */
+    public DeferredResult<ChangesResponse> changesSince(Long since, String waitValue, int size) {
+        KeysetPage.validateSize(size);
+        final Duration wait = parseWait(waitValue);
+        if (wait.isNegative() || wait.compareTo(properties.getMaxWait()) > 0) {
+            throw new ValidationException("Wait must be between 0s and %ds".formatted(properties.getMaxWait().toSeconds()));
+        }
+        if (since == null) {
+            final DeferredResult<ChangesResponse> result = new DeferredResult<>();
+            result.setResult(ChangesResponse.empty(changeLogRepository.currentRevision()));
+            return result;
+        }
+        if (since < 0) {
+            throw new ValidationException("Revision must not be negative");
+        }
+        final DeferredResult<ChangesResponse> result = new DeferredResult<>(wait.toMillis(), () -> ChangesResponse.empty(since));
+        if (wait.isZero()) {
+            result.setResult(read(since, size));
+            return result;
+        }
+        // Registered before reading, so a change committed in between wakes it up instead of being missed
+        final Waiter waiter = new Waiter(since, size, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        final ChangesResponse changes = read(since, size);
+        if (!changes.changes().isEmpty() || changes.resyncRequired()) {
+            result.setResult(changes);
+        }
+        return result;
+    }
+
+    // Runs in afterCommit while the request still holds its connection, so it only signals the dispatcher
+    @EventListener
+    public void onToggleChanged(ToggleNotificationEvent event) {
+        wakeUp();
+    }
+
+    @EventListener
+    public void onAttributeChanged(AttributeChangedEvent event) {
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (!waiters.isEmpty()) {
+            LockSupport.unpark(dispatcherThread);
+        }
+    }
+
+    private void run() {
+        final long checkIntervalNanos = properties.getCheckInterval().toNanos();
+        while (running) {
+            try {
+                dispatch();
+            } catch (RuntimeException e) {
+                log.error("Error dispatching changes to waiting requests", e);
+            }
+            LockSupport.parkNanos(this, checkIntervalNanos);
+        }
+    }
+
+    private void dispatch() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        final long current = changeLogRepository.currentRevision();
+        if (current == lastDispatchedRevision) {
+            return;
+        }
+        lastDispatchedRevision = current;
+        long from = Long.MAX_VALUE;
+        for (Waiter waiter : waiters) {
+            from = Math.min(from, waiter.since());
+        }
+        // Waiters are only parked when they are up to date, so this is a handful of recent changes
+        final List<ChangeLogEntry> entries = changeLogRepository.findAfter(from, KeysetPage.MAX_SIZE + 1);
+        final boolean truncated = entries.size() > KeysetPage.MAX_SIZE;
+        final List<ChangeLogEntry> available = truncated ? entries.subList(0, KeysetPage.MAX_SIZE) : entries;
+        for (Waiter waiter : waiters) {
+            if (waiter.since() < current) {
+                final ChangesResponse changes = page(waiter.since(), waiter.size(), available, truncated);
+                waiter.result().setResult(changes == null ? ChangesResponse.resync(current) : changes);
+            }
+        }
+    }
+
+    // Accepts simple durations such as 30s as well as ISO-8601 ones
+    private Duration parseWait(String wait) {
+        try {
+            return DurationStyle.detectAndParse(wait);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid wait: %s".formatted(wait));
+        }
+    }
+
+    private void purge() {
+        final int purged = changeLogRepository.deleteOlderThan(Instant.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("Change log purged: removed={}", purged);
+        }
+    }
+
+    private ChangesResponse read(long since, int size) {
+        final List<ChangeLogEntry> entries = changeLogRepository.findAfter(since, size + 1);
+        if (entries.isEmpty()) {
+            final long current = changeLogRepository.currentRevision();
+            // Behind with nothing left to read means the changes were purged; ahead means the log was reset
+            return current == since ? ChangesResponse.empty(since) : ChangesResponse.resync(current);
+        }
+        final ChangesResponse changes = page(since, size, entries, false);
+        return changes == null ? ChangesResponse.resync(changeLogRepository.currentRevision()) : changes;
+    }
+
+    // Page of the changes after since, from entries ordered by revision that may start before it;
+    // null when the changes right after since are no longer in the log
+    private ChangesResponse page(long since, int size, List<ChangeLogEntry> entries, boolean truncated) {
+        int start = 0;
+        while (start < entries.size() && entries.get(start).revision() <= since) {
+            start++;
+        }
+        if (start == entries.size()) {
+            return truncated ? ChangesResponse.empty(since) : null;
+        }
+        // Revisions are gapless, so a first change past since + 1 means the ones in between were purged
+        if (entries.get(start).revision() != since + 1) {
+            return null;
+        }
+        final int end = Math.min(entries.size(), start + size);
+        final List<ChangeResponse> changes = entries.subList(start, end).stream().map(ChangeResponse::from).toList();
+        final boolean hasMore = end < entries.size() || truncated;
+        return new ChangesResponse(changes, changes.get(changes.size() - 1).revision(), hasMore, false);
+    }
+
+    private record Waiter(long since, int size, DeferredResult<ChangesResponse> result) {
+    }
+}
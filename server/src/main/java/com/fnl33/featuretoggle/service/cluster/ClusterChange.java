@@ -0,0 +1,16 @@
+package com.fnl33.featuretoggle.service.cluster;
+
+import com.fnl33.featuretoggle.domain.ChangeType;
+
+/**
+ * Payload of a cluster notification: a committed change, the instance that made it and its global
+ * revision. The value is the allow-list value of single value changes and null otherwise.
+ */
+public record ClusterChange(
+    String origin,
+    long revision,
+    ChangeType type,
+    String name,
+    String value
+) {
+}
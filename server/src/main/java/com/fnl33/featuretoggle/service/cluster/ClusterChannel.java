@@ -0,0 +1,60 @@
+package com.fnl33.featuretoggle.service.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.ClusterProperties;
+import com.fnl33.featuretoggle.domain.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Announces committed changes to the other instances with PostgreSQL {@code NOTIFY}. The notification is
+ * sent from the transaction of the change, so the database delivers it when, and only if, the change
+ * commits, in commit order. Does nothing unless {@code cluster.enabled} is set.
+ */
+@Component
+@Slf4j
+public class ClusterChannel {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final ResultSetExtractor<Void> IGNORE_RESULT = resultSet -> null;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ClusterProperties properties;
+    // Identifies this instance's own notifications, whose changes were already applied locally
+    private final String origin = UUID.randomUUID().toString();
+
+    public ClusterChannel(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ClusterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    /**
+     * Queues a notification of the change in the current transaction. Names and allow-list values are at
+     * most 255 characters, well within the 8000 byte payload limit.
+     */
+    public void publish(ChangeType changeType, String name, String value, long revision) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        final String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new ClusterChange(origin, revision, changeType, name, value));
+        } catch (JsonProcessingException e) {
+            // Other instances catch up from the change log on their next revision check
+            log.error("Error serializing cluster notification - type: {}, name: {}", changeType, name, e);
+            return;
+        }
+        jdbcTemplate.query(NOTIFY_SQL, IGNORE_RESULT, properties.getChannel(), payload);
+    }
+}
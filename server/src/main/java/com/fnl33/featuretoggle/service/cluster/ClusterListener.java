@@ -0,0 +1,230 @@
+package com.fnl33.featuretoggle.service.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.ClusterProperties;
+import com.fnl33.featuretoggle.domain.ChangeType;
+import com.fnl33.featuretoggle.repository.ChangeLogEntry;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.UnknownToggleNames;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationSnapshotHolder;
+import com.fnl33.featuretoggle.service.evaluation.ToggleSnapshot;
+import com.fnl33.featuretoggle.service.event.AttributeChangedEvent;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies the changes committed on other instances to the caches of this one. A dedicated connection,
+ * outside the pool, listens on the cluster channel, and every notification is replayed as the event a
+ * local commit publishes, so each cache refreshes only the affected toggles.
+ * <p>
+ * Revisions are gapless and notifications arrive in commit order, so a skipped revision means missed
+ * notifications, for instance while the connection was down. Missed changes are then replayed from the
+ * change log, as they are after every (re)connect and every {@code cluster.revision-check-interval}; when
+ * the log no longer has them, the evaluation snapshot is reloaded in full.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "cluster", name = "enabled", havingValue = "true")
+public class ClusterListener implements SchedulingConfigurer {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    // Beyond this many missed changes a full reload is cheaper than refreshing toggles one by one
+    private static final int MAX_REPLAYED_CHANGES = 1000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ChangeLogRepository changeLogRepository;
+    private final EvaluationSnapshotHolder snapshotHolder;
+    private final UnknownToggleNames unknownToggleNames;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ClusterChannel clusterChannel;
+    private final ClusterProperties properties;
+    private final MetricsService metricsService;
+    private final Thread listenerThread;
+    private volatile boolean running = true;
+    private volatile boolean listening;
+    // Guarded by this; every change up to this revision has been applied
+    private long lastRevision;
+
+    public ClusterListener(DataSourceProperties dataSourceProperties,
+                           ChangeLogRepository changeLogRepository,
+                           EvaluationSnapshotHolder snapshotHolder,
+                           UnknownToggleNames unknownToggleNames,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectMapper objectMapper,
+                           ClusterChannel clusterChannel,
+                           ClusterProperties properties,
+                           MetricsService metricsService) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.changeLogRepository = changeLogRepository;
+        this.snapshotHolder = snapshotHolder;
+        this.unknownToggleNames = unknownToggleNames;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.clusterChannel = clusterChannel;
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.lastRevision = snapshotHolder.loadedRevision();
+        this.listenerThread = Thread.ofPlatform().name("cluster-listener").daemon().unstarted(this::run);
+        metricsService.registerClusterGauges(() -> listening ? 1 : 0);
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerThread.start();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::checkRevision, properties.getRevisionCheckInterval());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        listenerThread.join(POLL_TIMEOUT_MILLIS * 5L);
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                listening = true;
+                log.info("Listening for cluster changes: channel={}", properties.getChannel());
+                // Changes committed while nobody was listening
+                catchUp();
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cluster channel failed, reconnecting in {}", properties.getReconnectDelay(), e);
+                    LockSupport.parkNanos(properties.getReconnectDelay().toNanos());
+                }
+            } finally {
+                listening = false;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private void checkRevision() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.error("Error checking the global revision", e);
+        }
+    }
+
+    private synchronized void receive(String payload) {
+        final ClusterChange change;
+        try {
+            change = objectMapper.readValue(payload, ClusterChange.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cluster notification: {}", payload);
+            return;
+        }
+        if (change.revision() <= lastRevision) {
+            return;
+        }
+        if (change.revision() > lastRevision + 1) {
+            // The log has every change up to this one, which was committed before it was delivered
+            catchUp();
+            return;
+        }
+        // This instance's own changes were applied when they committed
+        if (!change.origin().equals(clusterChannel.origin())) {
+            apply(change.type(), change.name(), change.value(), change.revision());
+            metricsService.incrementClusterChangesApplied("notification", 1);
+        }
+        lastRevision = change.revision();
+    }
+
+    synchronized void catchUp() {
+        final long current = changeLogRepository.currentRevision();
+        if (current == lastRevision) {
+            return;
+        }
+        // Behind by more than can be replayed, or ahead because the database was reset
+        if (current - lastRevision > MAX_REPLAYED_CHANGES || current < lastRevision) {
+            reloadAll(current);
+            return;
+        }
+        final List<ChangeLogEntry> entries = changeLogRepository.findAfter(lastRevision, MAX_REPLAYED_CHANGES);
+        if (entries.isEmpty() || entries.get(0).revision() != lastRevision + 1) {
+            // The missed changes were purged from the log
+            reloadAll(current);
+            return;
+        }
+        final long from = lastRevision;
+        int applied = 0;
+        for (ChangeLogEntry entry : entries) {
+            // This instance's own changes were applied when they committed
+            if (!clusterChannel.origin().equals(entry.origin())) {
+                apply(entry.changeType(), entry.entityName(), entry.value(), entry.revision());
+                applied++;
+            }
+            lastRevision = entry.revision();
+        }
+        metricsService.incrementClusterChangesApplied("change_log", applied);
+        log.info("Cluster changes replayed from the change log: from={} to={}", from, lastRevision);
+    }
+
+    private void reloadAll(long current) {
+        log.info("Cluster changes cannot be replayed, reloading: revision={} current={}", lastRevision, current);
+        snapshotHolder.refreshAll();
+        unknownToggleNames.clear();
+        lastRevision = snapshotHolder.loadedRevision();
+        metricsService.incrementClusterReload();
+    }
+
+    private void apply(ChangeType changeType, String name, String value, long revision) {
+        switch (changeType) {
+            case ATTRIBUTE_CREATED, ATTRIBUTE_UPDATED, ATTRIBUTE_DELETED ->
+                    eventPublisher.publishEvent(new AttributeChangedEvent(name, togglesBoundTo(name), revision));
+            default -> eventPublisher.publishEvent(new ToggleNotificationEvent(name, value, revision));
+        }
+    }
+
+    private List<String> togglesBoundTo(String attributeName) {
+        final List<String> toggleNames = new ArrayList<>();
+        for (ToggleSnapshot toggle : snapshotHolder.current().toggles()) {
+            if (toggle.attributeName().equals(attributeName)) {
+                toggleNames.add(toggle.name());
+            }
+        }
+        return toggleNames;
+    }
+}
@@ -0,0 +1,20 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.util.function.Consumer;
+
+/**
+ * Read-only, thread-safe set of allow-list values used by the evaluation snapshot.
+ */
+public interface AllowList {
+
+    boolean contains(String value);
+
+    int size();
+
+    /**
+     * Approximate heap footprint of the values in bytes, for the allow-list memory gauge.
+     */
+    long estimatedBytes();
+
+    void forEach(Consumer<String> action);
+}
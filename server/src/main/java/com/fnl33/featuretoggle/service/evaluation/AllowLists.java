@@ -0,0 +1,73 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.domain.DataType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the {@link AllowList} representation used by the evaluation snapshot.
+ */
+public final class AllowLists {
+
+    private static final int MIN_COMPACTION_THRESHOLD = 64;
+    // Below this size the per-entry overhead is small and hashing beats a block search
+    private static final int COMPACT_STRING_THRESHOLD = 1024;
+
+    private AllowLists() {
+    }
+
+    public static AllowList of(DataType dataType, Collection<String> values) {
+        if (dataType == DataType.NUMBER) {
+            return NumberAllowList.of(values);
+        }
+        if (values.size() >= COMPACT_STRING_THRESHOLD) {
+            return CompactStringAllowList.of(values);
+        }
+        return new HashAllowList(values);
+    }
+
+    /**
+     * Returns a copy of the allow list that also contains the value.
+     */
+    public static AllowList with(DataType dataType, AllowList allowList, String value) {
+        return compactIfNeeded(dataType, DeltaAllowList.over(allowList).with(value));
+    }
+
+    /**
+     * Returns a copy of the allow list without the value.
+     */
+    public static AllowList without(DataType dataType, AllowList allowList, String value) {
+        return compactIfNeeded(dataType, DeltaAllowList.over(allowList).without(value));
+    }
+
+    /**
+     * Approximate heap footprint of a set of strings: the String and its byte array, assuming
+     * compressed oops and compact strings, plus two hash-table slots per entry.
+     */
+    static long estimatedBytes(Set<String> values) {
+        long bytes = 16L;
+        for (String value : values) {
+            bytes += 24L + align(16L + value.length()) + 8L;
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // Each change copies the overlay and each compaction copies the base, so folding the overlay back
+    // once it reaches sqrt(base) keeps a single-value change at amortized O(sqrt(n)) instead of O(n)
+    private static AllowList compactIfNeeded(DataType dataType, DeltaAllowList allowList) {
+        final int threshold = Math.max(MIN_COMPACTION_THRESHOLD, (int) Math.sqrt(allowList.baseSize()));
+        if (allowList.overlaySize() <= threshold) {
+            return allowList;
+        }
+        final List<String> values = new ArrayList<>(allowList.size());
+        allowList.forEach(values::add);
+        return of(dataType, values);
+    }
+}
@@ -0,0 +1,227 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only {@link AllowList} of strings stored as a front-coded sorted array.
+ * <p>
+ * Values are kept as UTF-8 in unsigned byte order and grouped in blocks of {@value #BLOCK_SIZE}. The first
+ * value of a block is stored in full; each following one stores only the length of the prefix it shares
+ * with its predecessor and the remaining suffix. Lookups binary-search the block heads and then scan one
+ * block, so long shared prefixes such as e-mail domains or tenant slugs are stored once per run instead of
+ * once per value, and there is no per-entry object overhead.
+ */
+final class CompactStringAllowList implements AllowList {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final byte[] data;
+    private final int[] blockOffsets;
+    private final int size;
+
+    private CompactStringAllowList(byte[] data, int[] blockOffsets, int size) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.size = size;
+    }
+
+    static CompactStringAllowList of(Collection<String> values) {
+        final List<byte[]> sorted = new ArrayList<>(values.size());
+        for (String value : values) {
+            sorted.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        sorted.sort(Arrays::compareUnsigned);
+
+        final Output out = new Output();
+        final int[] offsets = new int[(sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        byte[] previous = null;
+        int count = 0;
+        for (byte[] value : sorted) {
+            if (previous != null && Arrays.equals(previous, value)) {
+                continue;
+            }
+            if (count % BLOCK_SIZE == 0) {
+                offsets[count / BLOCK_SIZE] = out.size;
+                out.writeVarint(value.length);
+                out.write(value, 0, value.length);
+            } else {
+                final int prefix = Arrays.mismatch(previous, value);
+                out.writeVarint(prefix);
+                out.writeVarint(value.length - prefix);
+                out.write(value, prefix, value.length - prefix);
+            }
+            previous = value;
+            count++;
+        }
+        final int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return new CompactStringAllowList(out.toByteArray(), Arrays.copyOf(offsets, blocks), count);
+    }
+
+    @Override
+    public boolean contains(String value) {
+        if (value == null || size == 0) {
+            return false;
+        }
+        final byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = blockOffsets.length - 1;
+        int block = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = compareHead(mid, key);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp < 0) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return block >= 0 && scanBlock(block, key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 48L + data.length + 4L * blockOffsets.length;
+    }
+
+    @Override
+    public void forEach(Consumer<String> action) {
+        byte[] current = new byte[64];
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            final int prefix;
+            final int suffixLength;
+            if (i % BLOCK_SIZE == 0) {
+                prefix = 0;
+                suffixLength = readVarint(pos);
+                pos += varintSize(suffixLength);
+            } else {
+                prefix = readVarint(pos);
+                pos += varintSize(prefix);
+                suffixLength = readVarint(pos);
+                pos += varintSize(suffixLength);
+            }
+            final int length = prefix + suffixLength;
+            if (length > current.length) {
+                current = Arrays.copyOf(current, Math.max(length, current.length * 2));
+            }
+            System.arraycopy(data, pos, current, prefix, suffixLength);
+            pos += suffixLength;
+            action.accept(new String(current, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    private int compareHead(int block, byte[] key) {
+        int pos = blockOffsets[block];
+        final int length = readVarint(pos);
+        pos += varintSize(length);
+        return Arrays.compareUnsigned(data, pos, pos + length, key, 0, key.length);
+    }
+
+    // The head of the block sorts before the key. Tracking how many leading bytes the key shares with the
+    // previous entry decides each following entry from its shared-prefix length without rebuilding it.
+    private boolean scanBlock(int block, byte[] key) {
+        int pos = blockOffsets[block];
+        final int headLength = readVarint(pos);
+        pos += varintSize(headLength);
+        int matched = Math.max(0, Arrays.mismatch(data, pos, pos + headLength, key, 0, key.length));
+        pos += headLength;
+
+        final int end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : data.length;
+        while (pos < end) {
+            final int prefix = readVarint(pos);
+            pos += varintSize(prefix);
+            final int suffixLength = readVarint(pos);
+            pos += varintSize(suffixLength);
+            if (prefix < matched) {
+                // The entry differs from its predecessor where the predecessor still matched the key
+                return false;
+            }
+            if (prefix == matched) {
+                int i = 0;
+                while (i < suffixLength && matched + i < key.length && data[pos + i] == key[matched + i]) {
+                    i++;
+                }
+                final boolean entryEnded = i == suffixLength;
+                final boolean keyEnded = matched + i == key.length;
+                if (entryEnded && keyEnded) {
+                    return true;
+                }
+                if (keyEnded || (!entryEnded && Byte.toUnsignedInt(data[pos + i]) > Byte.toUnsignedInt(key[matched + i]))) {
+                    return false;
+                }
+                matched += i;
+            }
+            pos += suffixLength;
+        }
+        return false;
+    }
+
+    private int readVarint(int pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer = new byte[1024];
+        private int size;
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(size + length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void writeByte(int b) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size frequency estimator. Every key increments one counter per row, picked by a differently
+ * seeded hash, and its estimate is the smallest of those counters: never below the true count, and
+ * above it only by what colliding keys added. Counters are updated with atomic increments, so adding is
+ * lock-free.
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL,
+            0xBF58476D1CE4E5B9L, 0x85EBCA77C2B2AE63L, 0xA0761D6478BD642FL, 0xE7037ED1A0B428DBL,
+            0x8EBC6AF09C88C6E3L, 0x589965CC75374CC3L, 0x1D8E4E27C47D124FL, 0x2545F4914F6CDD1DL
+    };
+
+    private final int depth;
+    private final int mask;
+    private final int width;
+    private final AtomicIntegerArray counters;
+
+    CountMinSketch(int requestedWidth, int depth) {
+        this.width = Integer.highestOneBit(Math.max(1, requestedWidth - 1)) << 1;
+        this.mask = width - 1;
+        this.depth = depth;
+        this.counters = new AtomicIntegerArray(width * depth);
+    }
+
+    /**
+     * Counts one occurrence of the key with the given hash and returns its new estimate.
+     */
+    int add(int hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            final int index = row * width + (int) (mix(hash ^ SEEDS[row]) & mask);
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+        return estimate;
+    }
+
+    long estimatedBytes() {
+        return (long) width * depth * Integer.BYTES;
+    }
+
+    // Murmur3 finalizer, so row indexes do not share the low bits of String.hashCode
+    private static long mix(long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xC4CEB9FE1A85EC53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
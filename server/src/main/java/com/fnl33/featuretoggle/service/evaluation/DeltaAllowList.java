@@ -0,0 +1,84 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable overlay of single-value additions and removals on top of a base {@link AllowList}.
+ * A one-value change copies only the overlay, so its cost does not depend on the size of the base.
+ */
+final class DeltaAllowList implements AllowList {
+
+    private final AllowList base;
+    private final Set<String> added;
+    private final Set<String> removed;
+    private final long overlayBytes;
+
+    DeltaAllowList(AllowList base, Set<String> added, Set<String> removed) {
+        this.base = base;
+        this.added = Set.copyOf(added);
+        this.removed = Set.copyOf(removed);
+        this.overlayBytes = AllowLists.estimatedBytes(this.added) + AllowLists.estimatedBytes(this.removed);
+    }
+
+    static DeltaAllowList over(AllowList allowList) {
+        return allowList instanceof DeltaAllowList delta ? delta : new DeltaAllowList(allowList, Set.of(), Set.of());
+    }
+
+    DeltaAllowList with(String value) {
+        final Set<String> nextAdded = new HashSet<>(added);
+        final Set<String> nextRemoved = new HashSet<>(removed);
+        nextRemoved.remove(value);
+        if (!base.contains(value)) {
+            nextAdded.add(value);
+        }
+        return new DeltaAllowList(base, nextAdded, nextRemoved);
+    }
+
+    DeltaAllowList without(String value) {
+        final Set<String> nextAdded = new HashSet<>(added);
+        final Set<String> nextRemoved = new HashSet<>(removed);
+        nextAdded.remove(value);
+        if (base.contains(value)) {
+            nextRemoved.add(value);
+        }
+        return new DeltaAllowList(base, nextAdded, nextRemoved);
+    }
+
+    int overlaySize() {
+        return added.size() + removed.size();
+    }
+
+    int baseSize() {
+        return base.size();
+    }
+
+    @Override
+    public boolean contains(String value) {
+        if (added.contains(value)) {
+            return true;
+        }
+        return !removed.contains(value) && base.contains(value);
+    }
+
+    @Override
+    public int size() {
+        return base.size() + added.size() - removed.size();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return base.estimatedBytes() + overlayBytes;
+    }
+
+    @Override
+    public void forEach(Consumer<String> action) {
+        base.forEach(value -> {
+            if (!removed.contains(value)) {
+                action.accept(value);
+            }
+        });
+        added.forEach(action);
+    }
+}
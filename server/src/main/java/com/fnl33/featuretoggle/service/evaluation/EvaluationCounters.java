@@ -0,0 +1,99 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.config.EvaluationMetricsProperties;
+import com.fnl33.featuretoggle.service.EvaluationOutcome;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation counts per toggle and outcome. Counting is a map lookup and a {@link LongAdder} increment,
+ * which spreads contention over per-thread cells; the sums are only read when metrics are scraped. A
+ * meter is registered the first time a toggle sees an outcome. Only the first
+ * {@code evaluation-metrics.max-toggles} toggles are tagged by name; the rest, and names that match no
+ * toggle, share the {@code other} series so the number of series stays bounded. The counters and meters
+ * of a deleted toggle are removed once the snapshot no longer has it, which frees its place for new toggles.
+ */
+@Component
+public class EvaluationCounters {
+
+    private static final String OTHER = "other";
+
+    private static final EvaluationOutcome[] OUTCOMES = EvaluationOutcome.values();
+
+    private final MetricsService metricsService;
+    private final EvaluationMetricsProperties properties;
+    private final EvaluationSnapshotHolder snapshotHolder;
+    private final Map<String, ToggleCounters> counters = new ConcurrentHashMap<>();
+    private final ToggleCounters other;
+
+    public EvaluationCounters(MetricsService metricsService, EvaluationMetricsProperties properties,
+                              EvaluationSnapshotHolder snapshotHolder) {
+        this.metricsService = metricsService;
+        this.properties = properties;
+        this.snapshotHolder = snapshotHolder;
+        this.other = new ToggleCounters(OTHER);
+    }
+
+    public void record(String toggleName, EvaluationOutcome outcome) {
+        countersFor(toggleName, outcome).get(outcome).increment();
+    }
+
+    // Deletions carry no value; whether the toggle is gone is decided by the refreshed snapshot
+    @EventListener
+    public void onToggleChanged(ToggleNotificationEvent event) {
+        if (event.value() != null) {
+            return;
+        }
+        final String toggleName = event.toggleName();
+        snapshotHolder.afterRefresh(toggleName, () -> {
+            if (snapshotHolder.current().find(toggleName) == null && counters.remove(toggleName) != null) {
+                metricsService.removeToggleEvaluationCounters(toggleName);
+            }
+        });
+    }
+
+    private ToggleCounters countersFor(String toggleName, EvaluationOutcome outcome) {
+        if (outcome == EvaluationOutcome.TOGGLE_NOT_FOUND || toggleName == null) {
+            return other;
+        }
+        final ToggleCounters existing = counters.get(toggleName);
+        if (existing != null) {
+            return existing;
+        }
+        // Concurrent first evaluations may overshoot the cap by a few toggles
+        if (counters.size() >= properties.getMaxToggles()) {
+            return other;
+        }
+        return counters.computeIfAbsent(toggleName, ToggleCounters::new);
+    }
+
+    private final class ToggleCounters {
+
+        private final String toggleName;
+        private final AtomicReferenceArray<LongAdder> adders = new AtomicReferenceArray<>(OUTCOMES.length);
+
+        ToggleCounters(String toggleName) {
+            this.toggleName = toggleName;
+        }
+
+        LongAdder get(EvaluationOutcome outcome) {
+            final LongAdder adder = adders.get(outcome.ordinal());
+            if (adder != null) {
+                return adder;
+            }
+            final LongAdder created = new LongAdder();
+            if (adders.compareAndSet(outcome.ordinal(), null, created)) {
+                metricsService.registerToggleEvaluationCounter(toggleName, outcome.tag(), created);
+                return created;
+            }
+            return adders.get(outcome.ordinal());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of {@link ToggleSnapshot}s keyed by toggle name.
+ * Changes produce a new instance (copy-on-write) so readers never need a lock.
+ * <p>
+ * Toggles are also grouped by attribute, so the toggles allowing a value are found by asking the allow
+ * lists of the toggles bound to its attribute; no copy of the values is kept. The grouping is part of the
+ * same instance, so it always matches the toggles it is published with.
+ */
+public final class EvaluationSnapshot {
+
+    private static final EvaluationSnapshot EMPTY = new EvaluationSnapshot(Map.of(), Map.of());
+
+    private final Map<String, ToggleSnapshot> toggles;
+    private final Map<String, List<ToggleSnapshot>> togglesByAttribute;
+
+    private EvaluationSnapshot(Map<String, ToggleSnapshot> toggles, Map<String, List<ToggleSnapshot>> togglesByAttribute) {
+        this.toggles = toggles;
+        this.togglesByAttribute = togglesByAttribute;
+    }
+
+    public static EvaluationSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static EvaluationSnapshot of(Collection<ToggleSnapshot> toggles) {
+        final Map<String, ToggleSnapshot> byName = new HashMap<>(Math.max(16, toggles.size() * 2));
+        final Map<String, List<ToggleSnapshot>> byAttribute = new HashMap<>();
+        for (ToggleSnapshot toggle : toggles) {
+            byName.put(toggle.name(), toggle);
+        }
+        for (ToggleSnapshot toggle : byName.values()) {
+            byAttribute.computeIfAbsent(toggle.attributeName(), name -> new ArrayList<>()).add(toggle);
+        }
+        byAttribute.replaceAll((name, bound) -> List.copyOf(bound));
+        return new EvaluationSnapshot(byName, byAttribute);
+    }
+
+    /**
+     * @return the toggle snapshot, or {@code null} when no toggle with that name exists
+     */
+    public ToggleSnapshot find(String toggleName) {
+        return toggleName == null ? null : toggles.get(toggleName);
+    }
+
+    public Collection<ToggleSnapshot> toggles() {
+        return toggles.values();
+    }
+
+    /**
+     * @return the toggles bound to the attribute, in no particular order
+     */
+    public List<ToggleSnapshot> togglesBoundTo(String attributeName) {
+        return togglesByAttribute.getOrDefault(attributeName, List.of());
+    }
+
+    public int size() {
+        return toggles.size();
+    }
+
+    public EvaluationSnapshot with(ToggleSnapshot toggle) {
+        final Map<String, ToggleSnapshot> copy = new HashMap<>(toggles);
+        final ToggleSnapshot previous = copy.put(toggle.name(), toggle);
+        return new EvaluationSnapshot(copy, regroup(previous, toggle));
+    }
+
+    public EvaluationSnapshot without(String toggleName) {
+        if (!toggles.containsKey(toggleName)) {
+            return this;
+        }
+        final Map<String, ToggleSnapshot> copy = new HashMap<>(toggles);
+        final ToggleSnapshot previous = copy.remove(toggleName);
+        return new EvaluationSnapshot(copy, regroup(previous, null));
+    }
+
+    // Copies only the groups of the attributes the toggle left or joined
+    private Map<String, List<ToggleSnapshot>> regroup(ToggleSnapshot previous, ToggleSnapshot current) {
+        final Map<String, List<ToggleSnapshot>> copy = new HashMap<>(togglesByAttribute);
+        if (previous != null) {
+            final List<ToggleSnapshot> bound = new ArrayList<>(copy.getOrDefault(previous.attributeName(), List.of()));
+            bound.removeIf(toggle -> toggle.name().equals(previous.name()));
+            if (bound.isEmpty()) {
+                copy.remove(previous.attributeName());
+            } else {
+                copy.put(previous.attributeName(), List.copyOf(bound));
+            }
+        }
+        if (current != null) {
+            final List<ToggleSnapshot> bound = new ArrayList<>(copy.getOrDefault(current.attributeName(), List.of()));
+            bound.add(current);
+            copy.put(current.attributeName(), List.copyOf(bound));
+        }
+        return copy;
+    }
+}
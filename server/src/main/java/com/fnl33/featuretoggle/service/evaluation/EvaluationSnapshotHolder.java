@@ -0,0 +1,312 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.event.AttributeChangedEvent;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Holds the current {@link EvaluationSnapshot} and swaps it atomically whenever a toggle or attribute
+ * change is committed. Readers only dereference the current snapshot, so evaluations do no database
+ * I/O and take no locks; writers are serialized so a refresh never overwrites a newer one.
+ * <p>
+ * Committed changes only mark their toggle as pending; a single refresher thread reloads pending toggles
+ * on its own connection, so a write never waits for a second connection or for other refreshes, and a
+ * failed refresh is retried with backoff instead of failing the already committed write. Changes to a
+ * toggle marked while its refresh waits are folded into it, so a burst of commits reloads it once.
+ */
+@Component
+@Slf4j
+public class EvaluationSnapshotHolder {
+
+    private static final Duration IDLE_WAKEUP = Duration.ofSeconds(1);
+    private static final Duration MIN_RETRY_DELAY = Duration.ofMillis(100);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ToggleRepository toggleRepository;
+    private final AllowListEntryRepository allowListEntryRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicReference<EvaluationSnapshot> current = new AtomicReference<>(EvaluationSnapshot.empty());
+    private volatile long loadedRevision;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Toggle refreshes requested but not started yet; a refresh reads the database only after leaving this map
+    private final Map<String, PendingRefresh> pendingRefreshes = new ConcurrentHashMap<>();
+    private volatile RunningRefresh running;
+    private final Thread refresherThread;
+    private volatile boolean refreshing = true;
+    private final MetricsService metricsService;
+
+    public EvaluationSnapshotHolder(ToggleRepository toggleRepository,
+                                    AllowListEntryRepository allowListEntryRepository,
+                                    ChangeLogRepository changeLogRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MetricsService metricsService) {
+        this.toggleRepository = toggleRepository;
+        this.allowListEntryRepository = allowListEntryRepository;
+        this.changeLogRepository = changeLogRepository;
+        // Full reloads may run from afterCommit callbacks, so they must not join the already committed transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.metricsService = metricsService;
+        this.refresherThread = Thread.ofPlatform().name("snapshot-refresher").daemon().unstarted(this::runRefresher);
+        metricsService.registerAllowListGauges(this::allowListEntries, this::allowListBytes);
+        metricsService.registerSnapshotRefreshGauges(pendingRefreshes::size);
+    }
+
+    public EvaluationSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Global revision read before the last full load; every change up to it is in the snapshot.
+     */
+    public long loadedRevision() {
+        return loadedRevision;
+    }
+
+    @PostConstruct
+    void start() {
+        refreshAll();
+        refresherThread.start();
+    }
+
+    public void refreshAll() {
+        refreshLock.lock();
+        try {
+            final long revision = changeLogRepository.currentRevision();
+            final EvaluationSnapshot snapshot = transactionTemplate.execute(status -> EvaluationSnapshot.of(
+                    toggleRepository.findAllWithAttribute().stream().map(this::toSnapshot).toList()));
+            current.set(snapshot);
+            loadedRevision = revision;
+            log.info("Evaluation snapshot loaded: toggles={} revision={}", snapshot.size(), revision);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Queues a reload of the toggle and returns at once. A reload already queued for the toggle and not
+     * started yet will see the change, so the request is folded into it.
+     */
+    public void refreshToggle(String toggleName) {
+        mark(toggleName, PendingRefresh::reloadToggle);
+    }
+
+    /**
+     * Queues a re-read of a single allow-list value, applied to the toggle's allow list in place of a full
+     * reload so the refresh cost does not depend on the size of the allow list.
+     */
+    public void refreshAllowListValue(String toggleName, String value) {
+        mark(toggleName, refresh -> refresh.addValue(value));
+    }
+
+    /**
+     * Runs the action once every refresh of the toggle queued so far is in the snapshot, on the refresher
+     * thread, or right away when none is queued. Actions for one toggle run in the order they were added.
+     */
+    public void afterRefresh(String toggleName, Runnable action) {
+        final PendingRefresh pending = pendingRefreshes.get(toggleName);
+        if (pending != null && pending.addCallback(action)) {
+            return;
+        }
+        // Set before the refresh leaves the pending map and cleared only after it completed
+        final RunningRefresh running = this.running;
+        if (running != null && running.toggleName().equals(toggleName) && running.refresh().addCallback(action)) {
+            return;
+        }
+        action.run();
+    }
+
+    // Listeners run before others of the same event, so actions those register run after this refresh
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onToggleChanged(ToggleNotificationEvent event) {
+        // Allow-list additions and removals carry the value that changed; everything else reloads the toggle
+        if (event.value() != null) {
+            refreshAllowListValue(event.toggleName(), event.value());
+        } else {
+            refreshToggle(event.toggleName());
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onAttributeChanged(AttributeChangedEvent event) {
+        event.affectedToggleNames().forEach(this::refreshToggle);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        refreshing = false;
+        LockSupport.unpark(refresherThread);
+        refresherThread.join(SHUTDOWN_TIMEOUT.toMillis());
+    }
+
+    private void mark(String toggleName, Consumer<PendingRefresh> change) {
+        final boolean[] coalesced = new boolean[1];
+        pendingRefreshes.compute(toggleName, (name, pending) -> {
+            coalesced[0] = pending != null;
+            final PendingRefresh refresh = pending == null ? new PendingRefresh() : pending;
+            change.accept(refresh);
+            return refresh;
+        });
+        if (coalesced[0]) {
+            metricsService.incrementSnapshotRefreshCoalesced();
+        }
+        LockSupport.unpark(refresherThread);
+    }
+
+    private void runRefresher() {
+        long retryDelayNanos = 0;
+        while (refreshing) {
+            if (drain()) {
+                retryDelayNanos = 0;
+                LockSupport.parkNanos(this, IDLE_WAKEUP.toNanos());
+            } else {
+                // The failed refreshes are queued again; back off so a database outage is not hammered
+                retryDelayNanos = Math.min(Math.max(retryDelayNanos * 2, MIN_RETRY_DELAY.toNanos()),
+                        MAX_RETRY_DELAY.toNanos());
+                LockSupport.parkNanos(this, retryDelayNanos);
+            }
+        }
+    }
+
+    /**
+     * Applies every queued refresh, queueing failed ones again.
+     *
+     * @return whether every refresh was applied
+     */
+    private boolean drain() {
+        final List<String> failed = new ArrayList<>();
+        for (String toggleName : pendingRefreshes.keySet()) {
+            final PendingRefresh refresh = pendingRefreshes.get(toggleName);
+            if (refresh == null || failed.contains(toggleName)) {
+                continue;
+            }
+            running = new RunningRefresh(toggleName, refresh);
+            // Only this thread removes entries; marks made before the removal are in the refresh
+            pendingRefreshes.remove(toggleName);
+            try {
+                apply(toggleName, refresh);
+                running = null;
+                refresh.complete();
+            } catch (RuntimeException e) {
+                failed.add(toggleName);
+                // Queued again before it stops running, so actions added meanwhile always wait for the retry
+                pendingRefreshes.merge(toggleName, refresh, (newer, older) -> {
+                    newer.absorb(older);
+                    return newer;
+                });
+                running = null;
+                metricsService.incrementSnapshotRefreshFailed();
+                log.warn("Evaluation snapshot refresh failed, retrying: toggle={}", toggleName, e);
+            }
+        }
+        return failed.isEmpty();
+    }
+
+    private void apply(String toggleName, PendingRefresh refresh) {
+        final Set<String> values = refresh.values();
+        if (values == null) {
+            reloadToggle(toggleName);
+        } else {
+            for (String value : values) {
+                reloadAllowListValue(toggleName, value);
+            }
+        }
+    }
+
+    private void reloadToggle(String toggleName) {
+        refreshLock.lock();
+        try {
+            final ToggleSnapshot toggle = transactionTemplate.execute(status -> toggleRepository.findByName(toggleName)
+                    .map(this::toSnapshot)
+                    .orElse(null));
+            final EvaluationSnapshot previous = current.get();
+            current.set(toggle == null ? previous.without(toggleName) : previous.with(toggle));
+            log.debug("Evaluation snapshot refreshed: toggle={} present={}", toggleName, toggle != null);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void reloadAllowListValue(String toggleName, String value) {
+        refreshLock.lock();
+        try {
+            final EvaluationSnapshot previous = current.get();
+            final ToggleSnapshot toggle = previous.find(toggleName);
+            if (toggle == null) {
+                reloadToggle(toggleName);
+                return;
+            }
+            final boolean present = transactionTemplate.execute(status ->
+                    allowListEntryRepository.existsByToggle_NameAndValue(toggleName, value));
+            if (present == toggle.allows(value)) {
+                return;
+            }
+            final AllowList allowList = present
+                    ? AllowLists.with(toggle.dataType(), toggle.allowList(), value)
+                    : AllowLists.without(toggle.dataType(), toggle.allowList(), value);
+            current.set(previous.with(toggle.withAllowList(allowList)));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private ToggleSnapshot toSnapshot(Toggle toggle) {
+        final List<String> values = allowListEntryRepository.findValuesByToggleName(toggle.getName());
+        return new ToggleSnapshot(
+                toggle.getName(),
+                toggle.isEnabled(),
+                toggle.getAttribute().getName(),
+                toggle.getAttribute().getDataType(),
+                AllowLists.of(toggle.getAttribute().getDataType(), values)
+        );
+    }
+
+    private long allowListEntries() {
+        long entries = 0;
+        for (ToggleSnapshot toggle : current.get().toggles()) {
+            entries += toggle.allowList().size();
+        }
+        return entries;
+    }
+
+    private long allowListBytes() {
+        long bytes = 0;
+        for (ToggleSnapshot toggle : current.get().toggles()) {
+            bytes += toggle.allowList().estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private record RunningRefresh(String toggleName, PendingRefresh refresh) {
+    }
+}
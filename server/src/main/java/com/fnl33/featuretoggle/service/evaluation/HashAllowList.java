@@ -0,0 +1,39 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link AllowList} backed by an immutable hash set of the raw string values.
+ */
+public final class HashAllowList implements AllowList {
+
+    private final Set<String> values;
+    private final long estimatedBytes;
+
+    public HashAllowList(Collection<String> values) {
+        this.values = Set.copyOf(values);
+        this.estimatedBytes = AllowLists.estimatedBytes(this.values);
+    }
+
+    @Override
+    public boolean contains(String value) {
+        return values.contains(value);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public void forEach(Consumer<String> action) {
+        values.forEach(action);
+    }
+}
@@ -0,0 +1,130 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.config.HeavyHitterProperties;
+import com.fnl33.featuretoggle.dto.HotspotsResponse;
+import com.fnl33.featuretoggle.service.MetricsService;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedRateTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the most evaluated (toggle, value) pairs and the most requested unknown toggle names, to spot a
+ * client hammering one value or looping on a misspelt toggle. Each window counts into count-min sketches
+ * of fixed size and keeps the top {@code heavy-hitters.top-k} keys per list, so memory does not grow with
+ * the number of distinct values. Only a random sample of {@code heavy-hitters.sample-every} evaluations
+ * is recorded, and recording is lock-free. Every {@code heavy-hitters.window} the current
+ * window is retired and counting starts over, so old traffic stops weighing on the ranking.
+ */
+@Component
+public class HeavyHitters implements SchedulingConfigurer {
+
+    private final HeavyHitterProperties properties;
+    private volatile Window current;
+    private volatile Window previous;
+
+    public HeavyHitters(HeavyHitterProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.current = new Window(Instant.now());
+        metricsService.registerHeavyHitterGauges(this::estimatedBytes);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (properties.isEnabled()) {
+            taskRegistrar.addFixedRateTask(new FixedRateTask(this::rotate, properties.getWindow(), properties.getWindow()));
+        }
+    }
+
+    public void recordValue(String toggleName, String value) {
+        if (sampled()) {
+            current.recordValue(toggleName, value);
+        }
+    }
+
+    public void recordUnknownToggle(String toggleName) {
+        if (toggleName != null && sampled()) {
+            current.recordUnknownToggle(toggleName);
+        }
+    }
+
+    public HotspotsResponse hotspots() {
+        final Window last = previous;
+        return new HotspotsResponse(current.report(null), last == null ? null : last.report(current.start));
+    }
+
+    private boolean sampled() {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        final int sampleEvery = properties.getSampleEvery();
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    private long estimatedBytes() {
+        final Window last = previous;
+        return current.estimatedBytes() + (last == null ? 0 : last.estimatedBytes());
+    }
+
+    void rotate() {
+        final Window retired = current;
+        current = new Window(Instant.now());
+        previous = retired;
+    }
+
+    private record ToggleValue(String toggleName, String value) {
+    }
+
+    private final class Window {
+
+        private final Instant start;
+        private final LongAdder evaluations = new LongAdder();
+        private final CountMinSketch valueSketch =
+                new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+        private final CountMinSketch unknownToggleSketch =
+                new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+        private final TopK<ToggleValue> topValues = new TopK<>(properties.getTopK());
+        private final TopK<String> topUnknownToggles = new TopK<>(properties.getTopK());
+
+        Window(Instant start) {
+            this.start = start;
+        }
+
+        void recordValue(String toggleName, String value) {
+            evaluations.increment();
+            final ToggleValue key = new ToggleValue(toggleName, value);
+            topValues.offer(key, valueSketch.add(key.hashCode()));
+        }
+
+        void recordUnknownToggle(String toggleName) {
+            evaluations.increment();
+            topUnknownToggles.offer(toggleName, unknownToggleSketch.add(toggleName.hashCode()));
+        }
+
+        long estimatedBytes() {
+            return valueSketch.estimatedBytes() + unknownToggleSketch.estimatedBytes();
+        }
+
+        HotspotsResponse.Window report(Instant end) {
+            final long scale = properties.getSampleEvery();
+            final List<HotspotsResponse.HotValue> values = topValues.top().stream()
+                    .map(entry -> toHotValue(entry, scale))
+                    .toList();
+            final List<HotspotsResponse.HotToggle> unknownToggles = topUnknownToggles.top().stream()
+                    .map(entry -> new HotspotsResponse.HotToggle(entry.getKey(), entry.getValue() * scale))
+                    .toList();
+            return new HotspotsResponse.Window(start, end, evaluations.sum() * scale, values, unknownToggles);
+        }
+
+        private HotspotsResponse.HotValue toHotValue(Map.Entry<ToggleValue, Long> entry, long scale) {
+            return new HotspotsResponse.HotValue(
+                    entry.getKey().toggleName(), entry.getKey().value(), entry.getValue() * scale);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link AllowList} for NUMBER attributes that keeps values as primitives instead of strings.
+ * <p>
+ * Values in canonical integer form (no sign other than a leading minus, no leading zeros) are stored
+ * in a roaring bitmap when they all fit in 32 unsigned bits, and in a sorted {@code long[]} otherwise.
+ * Any other value, such as a decimal, keeps its string form so membership stays an exact string match.
+ */
+final class NumberAllowList implements AllowList {
+
+    private static final long MAX_UNSIGNED_INT = 0xFFFFFFFFL;
+    private static final String MAX_LONG_DIGITS = "9223372036854775807";
+    private static final String MIN_LONG_DIGITS = "9223372036854775808";
+
+    private final RoaringBitmap bitmap;
+    private final long[] sorted;
+    private final Set<String> others;
+
+    private NumberAllowList(RoaringBitmap bitmap, long[] sorted, Set<String> others) {
+        this.bitmap = bitmap;
+        this.sorted = sorted;
+        this.others = others;
+    }
+
+    static NumberAllowList of(Collection<String> values) {
+        final long[] numbers = new long[values.size()];
+        final Set<String> others = new HashSet<>();
+        int count = 0;
+        boolean fitsInBitmap = true;
+        for (String value : values) {
+            if (isCanonicalLong(value)) {
+                final long number = Long.parseLong(value);
+                numbers[count++] = number;
+                fitsInBitmap &= number >= 0 && number <= MAX_UNSIGNED_INT;
+            } else {
+                others.add(value);
+            }
+        }
+        if (fitsInBitmap) {
+            final RoaringBitmap bitmap = new RoaringBitmap();
+            for (int i = 0; i < count; i++) {
+                bitmap.add((int) numbers[i]);
+            }
+            bitmap.runOptimize();
+            return new NumberAllowList(bitmap, null, Set.copyOf(others));
+        }
+        final long[] sorted = Arrays.copyOf(numbers, count);
+        Arrays.sort(sorted);
+        return new NumberAllowList(null, sorted, Set.copyOf(others));
+    }
+
+    @Override
+    public boolean contains(String value) {
+        if (value == null) {
+            return false;
+        }
+        if (!isCanonicalLong(value)) {
+            return others.contains(value);
+        }
+        final long number = Long.parseLong(value);
+        if (bitmap != null) {
+            return number >= 0 && number <= MAX_UNSIGNED_INT && bitmap.contains((int) number);
+        }
+        return Arrays.binarySearch(sorted, number) >= 0;
+    }
+
+    @Override
+    public int size() {
+        final int numbers = bitmap != null ? bitmap.getCardinality() : sorted.length;
+        return numbers + others.size();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        final long numbers = bitmap != null ? bitmap.getLongSizeInBytes() : 16L + 8L * sorted.length;
+        return numbers + AllowLists.estimatedBytes(others);
+    }
+
+    @Override
+    public void forEach(Consumer<String> action) {
+        if (bitmap != null) {
+            bitmap.forEach((int number) -> action.accept(Long.toString(Integer.toUnsignedLong(number))));
+        } else {
+            for (long number : sorted) {
+                action.accept(Long.toString(number));
+            }
+        }
+        others.forEach(action);
+    }
+
+    /**
+     * Whether the value is the exact {@link Long#toString(long)} form of some long, checked without
+     * allocating so that a successful check can be followed by an allocation-free {@link Long#parseLong}.
+     */
+    static boolean isCanonicalLong(String value) {
+        final int length = value.length();
+        final int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        final int digits = length - start;
+        if (digits == 0 || digits > MAX_LONG_DIGITS.length()) {
+            return false;
+        }
+        if (value.charAt(start) == '0') {
+            // "0" is canonical, "-0" and leading zeros are not
+            return length == 1;
+        }
+        for (int i = start; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        if (digits < MAX_LONG_DIGITS.length()) {
+            return true;
+        }
+        final String limit = start == 0 ? MAX_LONG_DIGITS : MIN_LONG_DIGITS;
+        return compareDigits(value, start, limit) <= 0;
+    }
+
+    private static int compareDigits(String value, int start, String limit) {
+        for (int i = 0; i < limit.length(); i++) {
+            final int diff = value.charAt(start + i) - limit.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+}
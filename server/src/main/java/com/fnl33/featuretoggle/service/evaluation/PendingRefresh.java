@@ -0,0 +1,83 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes to one toggle waiting for the snapshot refresher, with the actions to run once they are in the
+ * snapshot. Changes marked while the refresh is queued are folded into it.
+ */
+@Slf4j
+final class PendingRefresh {
+
+    // Past this many changed values one reload of the toggle is cheaper than a query per value
+    private static final int MAX_VALUES = 64;
+
+    private Set<String> values = new HashSet<>();
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private boolean completed;
+
+    synchronized void addValue(String value) {
+        if (values != null) {
+            values.add(value);
+            if (values.size() > MAX_VALUES) {
+                values = null;
+            }
+        }
+    }
+
+    synchronized void reloadToggle() {
+        values = null;
+    }
+
+    /**
+     * @return the allow-list values to re-read, or {@code null} when the whole toggle must be reloaded
+     */
+    synchronized Set<String> values() {
+        return values == null ? null : Set.copyOf(values);
+    }
+
+    /**
+     * Folds in the changes of an earlier refresh that failed, running its actions first.
+     */
+    synchronized void absorb(PendingRefresh failed) {
+        final Set<String> failedValues = failed.values();
+        if (values != null && failedValues != null) {
+            values.addAll(failedValues);
+        } else {
+            values = null;
+        }
+        callbacks.add(0, failed::complete);
+    }
+
+    /**
+     * @return {@code false} when the refresh has already completed and the action was not queued
+     */
+    synchronized boolean addCallback(Runnable action) {
+        if (completed) {
+            return false;
+        }
+        callbacks.add(action);
+        return true;
+    }
+
+    void complete() {
+        final List<Runnable> actions;
+        synchronized (this) {
+            completed = true;
+            actions = List.copyOf(callbacks);
+            callbacks.clear();
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Error running an action after a snapshot refresh", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.service.flightrecorder.AllowListLookupEvent;
+
+/**
+ * Immutable, evaluation-ready view of a toggle and its allow list.
+ */
+public record ToggleSnapshot(
+    String name,
+    boolean enabled,
+    String attributeName,
+    DataType dataType,
+    AllowList allowList
+) {
+    public boolean allows(String value) {
+        final AllowListLookupEvent event = new AllowListLookupEvent();
+        event.begin();
+        final boolean allowed = allowList.contains(value);
+        event.end(name, allowList, allowed);
+        return allowed;
+    }
+
+    public ToggleSnapshot withAllowList(AllowList allowList) {
+        return new ToggleSnapshot(name, enabled, attributeName, dataType, allowList);
+    }
+}
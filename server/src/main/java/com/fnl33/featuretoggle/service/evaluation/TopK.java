@@ -0,0 +1,76 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keys with the highest estimated counts. Tracked keys are updated with a CAS on their own counter.
+ * A new key is admitted only when its estimate beats the smallest count that survived the last pruning.
+ * Once the map holds twice {@code k} keys, whichever thread notices first trims it back to {@code k}
+ * while the others carry on.
+ */
+final class TopK<K> {
+
+    private static final Comparator<Map.Entry<?, AtomicLong>> BY_COUNT_DESCENDING =
+            Comparator.comparingLong((Map.Entry<?, AtomicLong> entry) -> entry.getValue().get()).reversed();
+
+    private final int k;
+    private final Map<K, AtomicLong> counts = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile long admissionThreshold;
+
+    TopK(int k) {
+        this.k = k;
+    }
+
+    void offer(K key, long estimate) {
+        AtomicLong count = counts.get(key);
+        if (count == null) {
+            if (estimate <= admissionThreshold) {
+                return;
+            }
+            count = counts.computeIfAbsent(key, ignored -> new AtomicLong());
+        }
+        long current = count.get();
+        while (current < estimate && !count.compareAndSet(current, estimate)) {
+            current = count.get();
+        }
+        if (counts.size() > 2 * k && pruning.compareAndSet(false, true)) {
+            try {
+                prune();
+            } finally {
+                pruning.set(false);
+            }
+        }
+    }
+
+    /**
+     * Up to {@code k} keys with their counts, highest first.
+     */
+    List<Map.Entry<K, Long>> top() {
+        final List<Map.Entry<K, AtomicLong>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(BY_COUNT_DESCENDING);
+        final List<Map.Entry<K, Long>> top = new ArrayList<>(Math.min(k, entries.size()));
+        for (Map.Entry<K, AtomicLong> entry : entries.subList(0, Math.min(k, entries.size()))) {
+            top.add(Map.entry(entry.getKey(), entry.getValue().get()));
+        }
+        return top;
+    }
+
+    private void prune() {
+        final List<Map.Entry<K, AtomicLong>> entries = new ArrayList<>(counts.entrySet());
+        if (entries.size() <= k) {
+            return;
+        }
+        entries.sort(BY_COUNT_DESCENDING);
+        admissionThreshold = entries.get(k - 1).getValue().get();
+        for (Map.Entry<K, AtomicLong> entry : entries.subList(k, entries.size())) {
+            counts.remove(entry.getKey(), entry.getValue());
+        }
+    }
+}
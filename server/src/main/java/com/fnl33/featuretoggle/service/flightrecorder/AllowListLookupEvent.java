@@ -0,0 +1,43 @@
+package com.fnl33.featuretoggle.service.flightrecorder;
+
+import com.fnl33.featuretoggle.service.evaluation.AllowList;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event spanning a lookup of a value in a toggle's allow list.
+ */
+@Name("featuretoggle.AllowListLookup")
+@Label("Allow List Lookup")
+@Category({"Feature Toggle", "Evaluation"})
+@Description("Lookup of a value in a toggle's allow list")
+@Threshold("100 us")
+@StackTrace(false)
+public final class AllowListLookupEvent extends jdk.jfr.Event {
+
+    @Label("Toggle Name")
+    String toggleName;
+
+    @Label("Allowed")
+    boolean allowed;
+
+    @Label("Allow List Type")
+    String allowListType;
+
+    @Label("Allow List Size")
+    int allowListSize;
+
+    public void end(String toggleName, AllowList allowList, boolean allowed) {
+        if (shouldCommit()) {
+            this.toggleName = toggleName;
+            this.allowed = allowed;
+            this.allowListType = allowList.getClass().getSimpleName();
+            this.allowListSize = allowList.size();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fnl33.featuretoggle.service.flightrecorder;
+
+import com.fnl33.featuretoggle.repository.AuditRecord;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Flight recorder event spanning an insert of audit records: a batch flushed by the audit writer
+ * thread, including its commit, or an inline write in the caller's transaction.
+ */
+@Name("featuretoggle.AuditWrite")
+@Label("Audit Write")
+@Category({"Feature Toggle", "Audit"})
+@Description("Insert of a batch of audit records")
+@StackTrace(false)
+public final class AuditWriteEvent extends jdk.jfr.Event {
+
+    @Label("Mode")
+    @Description("batch when written by the audit writer thread, inline when written in the caller's transaction")
+    String mode;
+
+    @Label("Records")
+    int records;
+
+    @Label("Toggle Names")
+    @Description("Distinct toggles the records are about")
+    String toggleNames;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void end(String mode, Collection<AuditRecord> records, boolean written) {
+        if (shouldCommit()) {
+            final TreeSet<String> names = new TreeSet<>();
+            for (AuditRecord record : records) {
+                if (record.toggleName() != null) {
+                    names.add(record.toggleName());
+                }
+            }
+            this.mode = mode;
+            this.records = records.size();
+            this.toggleNames = String.join(",", names);
+            this.outcome = written ? "written" : "failed";
+            commit();
+        }
+    }
+}
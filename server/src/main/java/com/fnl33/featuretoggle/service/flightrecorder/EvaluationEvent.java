@@ -0,0 +1,39 @@
+package com.fnl33.featuretoggle.service.flightrecorder;
+
+import com.fnl33.featuretoggle.service.EvaluationOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event spanning one toggle evaluation. Only evaluations slower than the threshold are
+ * recorded, so a recording shows the outliers rather than every evaluation.
+ */
+@Name("featuretoggle.Evaluation")
+@Label("Toggle Evaluation")
+@Category({"Feature Toggle", "Evaluation"})
+@Description("Evaluation of a toggle against a value")
+@Threshold("100 us")
+@StackTrace(false)
+public final class EvaluationEvent extends jdk.jfr.Event {
+
+    @Label("Toggle Name")
+    String toggleName;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Ends the event and records it if flight recording is on and the event is over the threshold.
+     */
+    public void end(String toggleName, EvaluationOutcome outcome) {
+        if (shouldCommit()) {
+            this.toggleName = toggleName;
+            this.outcome = outcome.tag();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fnl33.featuretoggle.service.flightrecorder;
+
+import com.fnl33.featuretoggle.config.FlightRecorderProperties;
+import com.fnl33.featuretoggle.dto.FlightRecordingResponse;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Runs at most one on-demand flight recording at a time. A recording is bounded by a duration, after
+ * which it stops by itself, and by a size on disk; once stopped it is dumped to a temporary file that
+ * is handed out once and then discarded.
+ */
+@Component
+@Slf4j
+public class FlightRecordings {
+
+    private static final String RECORDING_NAME = "feature-toggle";
+    private static final String FILE_PREFIX = "feature-toggle-";
+    private static final String FILE_SUFFIX = ".jfr";
+    // Settings a request may name; a custom .jfc file can only be configured on the server
+    private static final Set<String> BUILT_IN_SETTINGS = Set.of("default", "profile");
+
+    private final FlightRecorderProperties properties;
+
+    // Guarded by this
+    private Recording recording;
+    private Path destination;
+
+    public FlightRecordings(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized Optional<FlightRecordingResponse> status() {
+        return Optional.ofNullable(recording).map(FlightRecordingResponse::from);
+    }
+
+    /**
+     * Starts a recording, replacing a stopped one that was never downloaded. The duration and settings
+     * default to the configured ones, and requested settings must be a built-in JDK configuration; the
+     * threshold, when given, overrides the one of the evaluation and allow-list lookup events.
+     */
+    public synchronized FlightRecordingResponse start(Duration duration, String settings, Duration threshold) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ValidationException("A flight recording is already running");
+        }
+        final Duration recordingDuration = duration != null ? duration : properties.getDefaultDuration();
+        if (recordingDuration.isNegative() || recordingDuration.isZero()
+                || recordingDuration.compareTo(properties.getMaxDuration()) > 0) {
+            throw new ValidationException("Duration must be positive and at most " + properties.getMaxDuration());
+        }
+        if (threshold != null && threshold.isNegative()) {
+            throw new ValidationException("Threshold must not be negative");
+        }
+        if (settings != null && !BUILT_IN_SETTINGS.contains(settings)) {
+            throw new ValidationException("Settings must be one of " + BUILT_IN_SETTINGS);
+        }
+        final Configuration configuration = settings != null
+                ? builtInConfiguration(settings)
+                : configuredConfiguration();
+
+        discard();
+        final Recording started = new Recording(configuration);
+        try {
+            destination = Files.createTempFile(FILE_PREFIX, FILE_SUFFIX);
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxSize(properties.getMaxSize().toBytes());
+            started.setDuration(recordingDuration);
+            started.setDestination(destination);
+            if (threshold != null) {
+                started.enable(EvaluationEvent.class).withThreshold(threshold);
+                started.enable(AllowListLookupEvent.class).withThreshold(threshold);
+            }
+            started.start();
+        } catch (IOException e) {
+            started.close();
+            throw new UncheckedIOException("Error starting flight recording", e);
+        }
+        recording = started;
+        log.info("Flight recording started: id={} duration={} settings={}",
+                started.getId(), recordingDuration, configuration.getName());
+        return FlightRecordingResponse.from(started);
+    }
+
+    /**
+     * Stops the recording if it is still running and hands over its file, which the caller must delete.
+     */
+    public synchronized Optional<Path> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+        final Path file = destination;
+        log.info("Flight recording stopped: id={} file={}", recording.getId(), file);
+        recording = null;
+        destination = null;
+        return Optional.of(file);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (destination != null) {
+            try {
+                Files.deleteIfExists(destination);
+            } catch (IOException e) {
+                log.warn("Error deleting flight recording file {}", destination, e);
+            }
+            destination = null;
+        }
+    }
+
+    private static Configuration builtInConfiguration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Error reading JDK flight recorder settings " + settings, e);
+        }
+    }
+
+    private Configuration configuredConfiguration() {
+        final String settings = properties.getSettings();
+        if (!settings.endsWith(".jfc")) {
+            return builtInConfiguration(settings);
+        }
+        try {
+            return Configuration.create(Path.of(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Error reading configured flight recorder settings " + settings, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fnl33.featuretoggle.service.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Flight recorder event spanning one webhook delivery, including the wait for a per-host permit.
+ */
+@Name("featuretoggle.WebhookDispatch")
+@Label("Webhook Dispatch")
+@Category({"Feature Toggle", "Notification"})
+@Description("Delivery of a notification to a client callback URL")
+@StackTrace(false)
+public final class WebhookDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Callback URL")
+    String callbackUrl;
+
+    @Label("Toggle Names")
+    String toggleNames;
+
+    @Label("Outcome")
+    @Description("delivered, or the delivery error")
+    String outcome;
+
+    public void end(String callbackUrl, List<String> toggleNames, String outcome) {
+        if (shouldCommit()) {
+            this.callbackUrl = callbackUrl;
+            this.toggleNames = String.join(",", toggleNames);
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
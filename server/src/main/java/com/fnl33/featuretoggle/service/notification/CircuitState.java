@@ -0,0 +1,20 @@
+package com.fnl33.featuretoggle.service.notification;
+
+/**
+ * Circuit state of a callback host. The codes are the values of the {@code webhook.host.state} gauge.
+ */
+public enum CircuitState {
+    CLOSED(0),
+    HALF_OPEN(1),
+    OPEN(2);
+
+    private final int code;
+
+    CircuitState(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+}
@@ -0,0 +1,17 @@
+package com.fnl33.featuretoggle.service.notification;
+
+/**
+ * Outcome of a single webhook delivery; {@code error} describes the failure when not delivered.
+ */
+public record DeliveryResult(boolean delivered, String error) {
+
+    private static final DeliveryResult SUCCESS = new DeliveryResult(true, null);
+
+    public static DeliveryResult success() {
+        return SUCCESS;
+    }
+
+    public static DeliveryResult failure(String error) {
+        return new DeliveryResult(false, error);
+    }
+}
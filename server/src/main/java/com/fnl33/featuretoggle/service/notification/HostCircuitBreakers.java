@@ -0,0 +1,96 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import com.fnl33.featuretoggle.config.NotificationProperties;
+import com.fnl33.featuretoggle.service.MetricsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breakers keyed by callback host, so a subscriber that is down or slow is skipped instead of
+ * tying up deliveries for everyone else. Callback URLs without a valid host are always allowed; their
+ * deliveries fail on their own.
+ */
+@Component
+@Slf4j
+public class HostCircuitBreakers {
+
+    private final NotificationProperties properties;
+    private final MetricsService metricsService;
+    private final Map<String, HostHealth> hosts = new ConcurrentHashMap<>();
+
+    public HostCircuitBreakers(NotificationProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Whether a delivery to the callback URL may be sent now. A half-open host admits one probe at a time,
+     * whose outcome must be passed to {@link #record}.
+     */
+    public boolean tryAcquire(String callbackUrl) {
+        final String host = hostOf(callbackUrl);
+        if (host == null) {
+            return true;
+        }
+        final HostHealth health = health(host);
+        final CircuitState before = health.state();
+        final boolean allowed = health.tryAcquire(Instant.now());
+        if (before == CircuitState.OPEN && allowed) {
+            transitioned(host, CircuitState.HALF_OPEN, health);
+        }
+        return allowed;
+    }
+
+    /**
+     * When a delivery to the callback URL may be attempted again.
+     */
+    public Instant retryAt(String callbackUrl) {
+        final String host = hostOf(callbackUrl);
+        return host == null ? Instant.now() : health(host).openUntil();
+    }
+
+    public void record(String host, boolean success, long durationNanos) {
+        final HostHealth health = health(host);
+        final CircuitState changed = health.record(success, durationNanos, Instant.now());
+        if (changed != null) {
+            transitioned(host, changed, health);
+        }
+    }
+
+    static String hostOf(String callbackUrl) {
+        try {
+            return URI.create(callbackUrl).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private HostHealth health(String host) {
+        return hosts.computeIfAbsent(host, key -> {
+            final HostHealth health = new HostHealth(
+                    properties.getCircuitFailureRateThreshold(),
+                    properties.getCircuitMinimumCalls(),
+                    properties.getCircuitSlowCallThreshold(),
+                    properties.getCircuitOpenDuration(),
+                    properties.getCircuitMaxOpenDuration());
+            metricsService.registerWebhookHostGauges(key,
+                    () -> health.state().code(), health::failureRate, health::latencyMillis);
+            return health;
+        });
+    }
+
+    private void transitioned(String host, CircuitState state, HostHealth health) {
+        metricsService.incrementWebhookHostTransition(host, state.name());
+        if (state == CircuitState.OPEN) {
+            log.warn("Callback host circuit opened: host={} failureRate={} latencyMs={} until={}",
+                    host, "%.2f".formatted(health.failureRate()), Math.round(health.latencyMillis()), health.openUntil());
+        } else {
+            log.info("Callback host circuit {}: host={}", state, host);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Delivery health of one callback host: exponentially weighted failure rate and latency, and the circuit
+ * state derived from them. A closed circuit opens when the failure rate crosses the threshold; after the
+ * open period a single probe is let through, which closes the circuit on success and reopens it for twice
+ * as long on failure.
+ */
+class HostHealth {
+
+    // Weight of the latest delivery; about the last ten deliveries dominate the averages
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long slowCallNanos;
+    private final Duration openDuration;
+    private final Duration maxOpenDuration;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private double failureRate;
+    private double latencyMillis;
+    private long calls;
+    private int trips;
+    private Instant openUntil = Instant.MIN;
+    private boolean probeInFlight;
+
+    HostHealth(double failureRateThreshold, int minimumCalls, Duration slowCallThreshold,
+               Duration openDuration, Duration maxOpenDuration) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openDuration = openDuration;
+        this.maxOpenDuration = maxOpenDuration;
+    }
+
+    /**
+     * Whether a delivery may be sent now. Moves an open circuit whose period has elapsed to half-open and
+     * lets that caller through as the probe.
+     */
+    synchronized boolean tryAcquire(Instant now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (now.isBefore(openUntil)) {
+                    yield false;
+                }
+                state = CircuitState.HALF_OPEN;
+                probeInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield false;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records the outcome of a delivery and returns the new state when it changed, otherwise null.
+     */
+    synchronized CircuitState record(boolean success, long durationNanos, Instant now) {
+        final boolean failed = !success || durationNanos >= slowCallNanos;
+        final double sample = failed ? 1.0 : 0.0;
+        final double millis = durationNanos / 1_000_000.0;
+        calls++;
+        if (calls == 1) {
+            failureRate = sample;
+            latencyMillis = millis;
+        } else {
+            failureRate += EWMA_WEIGHT * (sample - failureRate);
+            latencyMillis += EWMA_WEIGHT * (millis - latencyMillis);
+        }
+        return switch (state) {
+            case CLOSED -> calls >= minimumCalls && failureRate >= failureRateThreshold ? open(now) : null;
+            case HALF_OPEN -> {
+                probeInFlight = false;
+                if (failed) {
+                    yield open(now);
+                }
+                // Start over so the failures that opened the circuit do not reopen it right away
+                state = CircuitState.CLOSED;
+                trips = 0;
+                calls = 0;
+                failureRate = 0;
+                yield CircuitState.CLOSED;
+            }
+            // Deliveries that were already in flight when the circuit opened
+            case OPEN -> null;
+        };
+    }
+
+    synchronized CircuitState state() {
+        return state;
+    }
+
+    synchronized Instant openUntil() {
+        return openUntil;
+    }
+
+    synchronized double failureRate() {
+        return failureRate;
+    }
+
+    synchronized double latencyMillis() {
+        return latencyMillis;
+    }
+
+    private CircuitState open(Instant now) {
+        final Duration period = openDuration.multipliedBy(1L << Math.min(trips, 20));
+        openUntil = now.plus(period.compareTo(maxOpenDuration) > 0 ? maxOpenDuration : period);
+        trips++;
+        state = CircuitState.OPEN;
+        return CircuitState.OPEN;
+    }
+}
@@ -0,0 +1,246 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.NotificationProperties;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.dto.ToggleNotificationPayload;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.NotificationOutboxEntry;
+import com.fnl33.featuretoggle.repository.NotificationOutboxRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the notification outbox. Each poll claims a batch of due rows, sends them through the
+ * {@link WebhookDispatcher} and records the outcomes: delivered rows are deleted, failed ones are retried
+ * with exponential backoff and dead-lettered after {@code notifications.max-attempts}. Rows for hosts
+ * whose circuit is open are postponed without being sent or counted as an attempt. Dead-lettered rows
+ * are deleted once they are older than {@code notifications.dead-letter-retention}.
+ * <p>
+ * Polls run on a dedicated thread, since a poll waits for its deliveries and keeps going while batches
+ * come back full; on the shared scheduler a webhook backlog would hold up every other periodic task.
+ * <p>
+ * Due rows of the same client are sent together as one {@code {"toggles": [...]}} payload, and share
+ * its outcome. Each toggle carries its state read when the notification is sent, not when it was queued,
+ * so a retry never delivers an outdated state; it is read and serialized once per toggle in the batch.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxPoller implements SchedulingConfigurer {
+
+    private static final byte[] TOGGLES_PREFIX = "{\"toggles\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOGGLES_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final ToggleRepository toggleRepository;
+    private final AllowListEntryRepository allowListEntryRepository;
+    private final WebhookDispatcher webhookDispatcher;
+    private final HostCircuitBreakers circuitBreakers;
+    private final ObjectMapper objectMapper;
+    private final MetricsService metricsService;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    // Polls wait for their deliveries, so they get a thread of their own rather than the shared scheduler's
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("outbox-poller").daemon().factory());
+
+    public NotificationOutboxPoller(NotificationOutboxRepository outboxRepository,
+                                    ToggleRepository toggleRepository,
+                                    AllowListEntryRepository allowListEntryRepository,
+                                    WebhookDispatcher webhookDispatcher,
+                                    HostCircuitBreakers circuitBreakers,
+                                    ObjectMapper objectMapper,
+                                    MetricsService metricsService,
+                                    NotificationProperties properties,
+                                    PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.toggleRepository = toggleRepository;
+        this.allowListEntryRepository = allowListEntryRepository;
+        this.webhookDispatcher = webhookDispatcher;
+        this.circuitBreakers = circuitBreakers;
+        this.objectMapper = objectMapper;
+        this.metricsService = metricsService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::purgeDeadLetters, properties.getDeadLetterPurgeInterval());
+    }
+
+    @PostConstruct
+    void start() {
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, properties.getPollInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(properties.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    public void poll() {
+        // Keep draining while batches come back full, so a backlog does not wait a poll interval per batch
+        int claimed;
+        do {
+            claimed = pollBatch();
+        } while (claimed == properties.getBatchSize());
+    }
+
+    // A task that throws is never run again by the executor
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.error("Error polling the notification outbox", e);
+        }
+    }
+
+    private void purgeDeadLetters() {
+        final int purged = outboxRepository.deleteDeadBefore(Instant.now().minus(properties.getDeadLetterRetention()));
+        if (purged > 0) {
+            log.info("Dead-lettered notifications purged: removed={}", purged);
+        }
+    }
+
+    private int pollBatch() {
+        final Instant now = Instant.now();
+        final List<NotificationOutboxEntry> entries = transactionTemplate.execute(status ->
+                outboxRepository.claimDue(now, now.plus(properties.getClaimTimeout()), properties.getBatchSize()));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        final Map<UUID, List<NotificationOutboxEntry>> entriesByClient = new LinkedHashMap<>();
+        for (NotificationOutboxEntry entry : entries) {
+            entriesByClient.computeIfAbsent(entry.clientRegistrationId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        final Map<String, byte[]> payloads = new HashMap<>();
+        final List<List<NotificationOutboxEntry>> groups = new ArrayList<>(entriesByClient.size());
+        final List<List<NotificationOutboxEntry>> parked = new ArrayList<>();
+        final List<CompletableFuture<DeliveryResult>> results = new ArrayList<>(entriesByClient.size());
+        for (List<NotificationOutboxEntry> group : entriesByClient.values()) {
+            // Rows keep the callback URL registered when they were queued; they are all the same per client
+            final String callbackUrl = group.get(0).callbackUrl();
+            if (!circuitBreakers.tryAcquire(callbackUrl)) {
+                parked.add(group);
+                continue;
+            }
+            groups.add(group);
+            results.add(webhookDispatcher.deliver(callbackUrl, clientPayload(group, payloads),
+                    group.stream().map(NotificationOutboxEntry::toggleName).toList()));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        final List<NotificationOutboxEntry> delivered = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Hosts with an open circuit get their rows back untouched until the circuit lets a probe through
+            for (List<NotificationOutboxEntry> group : parked) {
+                outboxRepository.postpone(group, circuitBreakers.retryAt(group.get(0).callbackUrl()));
+                metricsService.incrementWebhookParked(group.size());
+            }
+            for (int i = 0; i < groups.size(); i++) {
+                final DeliveryResult result = results.get(i).join();
+                if (result.delivered()) {
+                    delivered.addAll(groups.get(i));
+                } else {
+                    groups.get(i).forEach(entry -> recordFailure(entry, result.error()));
+                }
+            }
+            outboxRepository.delete(delivered);
+        });
+        log.debug("Notification batch processed: claimed={} clients={} delivered={} parked={}",
+                entries.size(), groups.size(), delivered.size(), parked.size());
+        return entries.size();
+    }
+
+    private void recordFailure(NotificationOutboxEntry entry, String error) {
+        final int attempts = entry.attempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            log.warn("Notification dead-lettered: toggle={} url={} attempts={} error={}",
+                    entry.toggleName(), entry.callbackUrl(), attempts, error);
+            outboxRepository.deadLetter(entry, attempts, Instant.now(), error);
+            metricsService.incrementWebhookDeadLettered();
+            return;
+        }
+        final Duration backoff = backoff(attempts);
+        log.info("Notification failed, retrying: toggle={} url={} attempts={} retryIn={} error={}",
+                entry.toggleName(), entry.callbackUrl(), attempts, backoff, error);
+        outboxRepository.reschedule(entry, attempts, Instant.now().plus(backoff), error);
+    }
+
+    // initialBackoff * 2^(attempts - 1), capped, with up to 20% jitter so failed batches do not retry in lockstep
+    private Duration backoff(int attempts) {
+        final long initial = properties.getInitialBackoff().toMillis();
+        final long max = properties.getMaxBackoff().toMillis();
+        final long exponential = initial << Math.min(attempts - 1, 30);
+        final long capped = exponential <= 0 || exponential > max ? max : exponential;
+        final long jitter = ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+        return Duration.ofMillis(capped - jitter);
+    }
+
+    // Concatenates the pre-serialized toggle payloads rather than serializing every allow list per client
+    private byte[] clientPayload(List<NotificationOutboxEntry> group, Map<String, byte[]> payloads) {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(TOGGLES_PREFIX);
+        for (int i = 0; i < group.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.writeBytes(payloads.computeIfAbsent(group.get(i).toggleName(), this::serializePayload));
+        }
+        body.writeBytes(TOGGLES_SUFFIX);
+        return body.toByteArray();
+    }
+
+    private byte[] serializePayload(String toggleName) {
+        final ToggleNotificationPayload payload = readOnlyTransactionTemplate.execute(status -> {
+            final Optional<Toggle> toggle = toggleRepository.findByName(toggleName);
+            // A deleted toggle is announced as disabled with an empty allow list
+            return toggle
+                    .map(found -> new ToggleNotificationPayload(toggleName, found.isEnabled(),
+                            allowListEntryRepository.findValuesByToggleName(toggleName)))
+                    .orElseGet(() -> new ToggleNotificationPayload(toggleName, false, List.of()));
+        });
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
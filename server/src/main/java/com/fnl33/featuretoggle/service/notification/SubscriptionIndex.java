@@ -0,0 +1,155 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import com.fnl33.featuretoggle.config.NotificationProperties;
+import com.fnl33.featuretoggle.repository.ClientRegistrationRepository;
+import com.fnl33.featuretoggle.repository.ClientSubscription;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the clients subscribed to each toggle, so change fan-out is a map read instead of
+ * a query. It is loaded at startup and updated when registrations commit.
+ * <p>
+ * The subscribers of a toggle are held in an immutable map that is replaced on every change, so readers
+ * take no locks; writers are serialized. Registrations made on other instances are picked up by a full
+ * reload every {@code notifications.subscription-refresh-interval}.
+ */
+@Component
+@Slf4j
+public class SubscriptionIndex implements SchedulingConfigurer {
+
+    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Map<String, Map<UUID, String>> subscribersByToggle = new ConcurrentHashMap<>();
+    private volatile Map<UUID, Set<String>> togglesByClient = new ConcurrentHashMap<>();
+
+    public SubscriptionIndex(ClientRegistrationRepository clientRegistrationRepository,
+                             NotificationProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.clientRegistrationRepository = clientRegistrationRepository;
+        this.properties = properties;
+        // Updates run from afterCommit callbacks, so reloads must not join the already committed transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::reload, properties.getSubscriptionRefreshInterval());
+    }
+
+    /**
+     * Returns the subscribers of each of the toggles.
+     */
+    public List<ClientSubscription> subscribers(Collection<String> toggleNames) {
+        final Map<String, Map<UUID, String>> index = subscribersByToggle;
+        final List<ClientSubscription> subscriptions = new ArrayList<>();
+        for (String toggleName : toggleNames) {
+            index.getOrDefault(toggleName, Map.of()).forEach((clientId, callbackUrl) ->
+                    subscriptions.add(new ClientSubscription(clientId, callbackUrl, toggleName)));
+        }
+        return subscriptions;
+    }
+
+    public Set<UUID> subscriberIds(String toggleName) {
+        return subscribersByToggle.getOrDefault(toggleName, Map.of()).keySet();
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        final List<ClientSubscription> subscriptions = transactionTemplate.execute(status ->
+                clientRegistrationRepository.findSubscriptions());
+        final Map<String, Map<UUID, String>> byToggle = new HashMap<>();
+        final Map<UUID, Set<String>> byClient = new HashMap<>();
+        for (ClientSubscription subscription : subscriptions) {
+            byToggle.computeIfAbsent(subscription.toggleName(), name -> new HashMap<>())
+                    .put(subscription.clientRegistrationId(), subscription.callbackUrl());
+            byClient.computeIfAbsent(subscription.clientRegistrationId(), id -> new HashSet<>())
+                    .add(subscription.toggleName());
+        }
+        final Map<String, Map<UUID, String>> frozenByToggle = new ConcurrentHashMap<>();
+        byToggle.forEach((toggleName, subscribers) -> frozenByToggle.put(toggleName, Map.copyOf(subscribers)));
+        final Map<UUID, Set<String>> frozenByClient = new ConcurrentHashMap<>();
+        byClient.forEach((clientId, toggles) -> frozenByClient.put(clientId, Set.copyOf(toggles)));
+        subscribersByToggle = frozenByToggle;
+        togglesByClient = frozenByClient;
+        log.debug("Subscription index loaded: subscriptions={} clients={}", subscriptions.size(), byClient.size());
+    }
+
+    /**
+     * Replaces the subscriptions of a client once the current transaction commits.
+     */
+    public void subscribe(UUID clientId, String callbackUrl, Set<String> toggleNames) {
+        final Set<String> toggles = Set.copyOf(toggleNames);
+        afterCommit(() -> replace(clientId, callbackUrl, toggles));
+    }
+
+    /**
+     * Removes every subscription of a client once the current transaction commits.
+     */
+    public void unsubscribe(UUID clientId) {
+        afterCommit(() -> replace(clientId, null, Set.of()));
+    }
+
+    private synchronized void replace(UUID clientId, String callbackUrl, Set<String> toggles) {
+        final Set<String> previous = toggles.isEmpty()
+                ? togglesByClient.remove(clientId)
+                : togglesByClient.put(clientId, toggles);
+        if (previous != null) {
+            for (String toggleName : previous) {
+                if (!toggles.contains(toggleName)) {
+                    subscribersByToggle.computeIfPresent(toggleName, (name, subscribers) -> without(subscribers, clientId));
+                }
+            }
+        }
+        for (String toggleName : toggles) {
+            subscribersByToggle.compute(toggleName, (name, subscribers) -> with(subscribers, clientId, callbackUrl));
+        }
+    }
+
+    private static Map<UUID, String> with(Map<UUID, String> subscribers, UUID clientId, String callbackUrl) {
+        final Map<UUID, String> copy = subscribers == null ? new HashMap<>() : new HashMap<>(subscribers);
+        copy.put(clientId, callbackUrl);
+        return Map.copyOf(copy);
+    }
+
+    // Returning null drops the toggle from the index once its last subscriber is gone
+    private static Map<UUID, String> without(Map<UUID, String> subscribers, UUID clientId) {
+        final Map<UUID, String> copy = new HashMap<>(subscribers);
+        copy.remove(clientId);
+        return copy.isEmpty() ? null : Map.copyOf(copy);
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import com.fnl33.featuretoggle.config.NotificationProperties;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.flightrecorder.WebhookDispatchEvent;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends webhook notifications. Every delivery runs on its own virtual thread over a shared HTTP/2
+ * client, and concurrent deliveries to a single callback host are capped so one slow subscriber
+ * cannot take every connection. Outcomes are reported to {@link HostCircuitBreakers}; a response below
+ * 500 counts as a healthy host even when the client rejected the notification.
+ */
+@Component
+@Slf4j
+public class WebhookDispatcher {
+
+    private final MetricsService metricsService;
+    private final HostCircuitBreakers circuitBreakers;
+    private final NotificationProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public WebhookDispatcher(MetricsService metricsService,
+                             HostCircuitBreakers circuitBreakers,
+                             NotificationProperties properties) {
+        this.metricsService = metricsService;
+        this.circuitBreakers = circuitBreakers;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        metricsService.registerWebhookGauges(inFlight::get);
+    }
+
+    /**
+     * PUTs the JSON body to the callback URL on a virtual thread. The future never completes exceptionally.
+     * The toggle names only label the delivery in flight recordings.
+     */
+    public CompletableFuture<DeliveryResult> deliver(String callbackUrl, byte[] body, List<String> toggleNames) {
+        return CompletableFuture.supplyAsync(() -> dispatch(callbackUrl, body, toggleNames), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(properties.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private DeliveryResult dispatch(String callbackUrl, byte[] body, List<String> toggleNames) {
+        final WebhookDispatchEvent event = new WebhookDispatchEvent();
+        event.begin();
+        final DeliveryResult result = send(callbackUrl, body);
+        event.end(callbackUrl, toggleNames, result.delivered() ? "delivered" : result.error());
+        return result;
+    }
+
+    private DeliveryResult send(String callbackUrl, byte[] body) {
+        final URI uri;
+        try {
+            uri = URI.create(callbackUrl);
+        } catch (IllegalArgumentException e) {
+            return failed("Invalid callback URL");
+        }
+        if (uri.getHost() == null) {
+            return failed("Callback URL has no host");
+        }
+        final String host = uri.getHost();
+        final Semaphore hostLimit = hostPermits.computeIfAbsent(host,
+                key -> new Semaphore(properties.getMaxConcurrencyPerHost()));
+        try {
+            hostLimit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreakers.record(host, false, 0);
+            return failed("Interrupted");
+        }
+        inFlight.incrementAndGet();
+        final Timer.Sample sample = metricsService.startWebhookTimer();
+        final long startedAt = System.nanoTime();
+        boolean hostHealthy = false;
+        try {
+            final HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(properties.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            final HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            hostHealthy = response.statusCode() < 500;
+            if (response.statusCode() >= 300) {
+                return failed("HTTP " + response.statusCode());
+            }
+            log.debug("Notification delivered: url={} status={}", uri, response.statusCode());
+            return DeliveryResult.success();
+        } catch (IOException e) {
+            return failed(e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed("Interrupted");
+        } finally {
+            circuitBreakers.record(host, hostHealthy, System.nanoTime() - startedAt);
+            metricsService.recordWebhookTime(sample);
+            inFlight.decrementAndGet();
+            hostLimit.release();
+        }
+    }
+
+    private DeliveryResult failed(String error) {
+        metricsService.incrementWebhookFailed();
+        return DeliveryResult.failure(error);
+    }
+}
@@ -0,0 +1,93 @@
+package com.fnl33.featuretoggle.service.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One open stream. Events are queued and written by a single drain task at a time, so writes to the
+ * emitter never overlap and a slow client only delays itself. A client that falls more than
+ * {@code maxQueued} events behind is disconnected and expected to reconnect.
+ */
+@Slf4j
+class StreamSubscriber {
+
+    private final SseEmitter emitter;
+    private final Set<String> toggleNames;
+    private final Executor executor;
+    private final int maxQueued;
+    private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    StreamSubscriber(SseEmitter emitter, Set<String> toggleNames, Executor executor, int maxQueued) {
+        this.emitter = emitter;
+        this.toggleNames = toggleNames;
+        this.executor = executor;
+        this.maxQueued = maxQueued;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Toggle names the client subscribed to; empty for every toggle.
+     */
+    Set<String> toggleNames() {
+        return toggleNames;
+    }
+
+    void send(SseEmitter.SseEventBuilder event) {
+        if (closed) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            log.info("Closing stream of a client that stopped reading: queued={}", maxQueued);
+            close();
+            return;
+        }
+        queue.add(event);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    void close() {
+        closed = true;
+        emitter.complete();
+    }
+
+    private void drain() {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = queue.poll()) != null) {
+                queued.decrementAndGet();
+                if (closed) {
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter's error callback unregisters it
+                    log.debug("Stream write failed: {}", e.getMessage());
+                    closed = true;
+                    emitter.completeWithError(e);
+                }
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag was cleared would otherwise wait
+            if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fnl33.featuretoggle.service.stream;
+
+import com.fnl33.featuretoggle.config.StreamProperties;
+import com.fnl33.featuretoggle.dto.ToggleChangeEvent;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationSnapshotHolder;
+import com.fnl33.featuretoggle.service.evaluation.ToggleSnapshot;
+import com.fnl33.featuretoggle.service.event.AttributeChangedEvent;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes committed toggle changes to clients connected to the Server-Sent Events stream.
+ * <p>
+ * Streams are held as async requests, so an idle connection costs no thread; writes run on virtual
+ * threads, one drain task per client at a time. Events are fed from the after-commit events of
+ * {@code NotificationOrchestrator}, sent once the evaluation snapshot holds the change, and carry the
+ * global revision of the change.
+ */
+@Component
+@Slf4j
+public class ToggleChangeBroadcaster implements SchedulingConfigurer {
+
+    private static final String EVENT_NAME = "toggle";
+
+    private final EvaluationSnapshotHolder snapshotHolder;
+    private final StreamProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public ToggleChangeBroadcaster(EvaluationSnapshotHolder snapshotHolder,
+                                   StreamProperties properties,
+                                   MetricsService metricsService) {
+        this.snapshotHolder = snapshotHolder;
+        this.properties = properties;
+        metricsService.registerStreamGauges(subscribers::size);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::heartbeat, properties.getHeartbeatInterval());
+    }
+
+    /**
+     * Opens a stream of changes to the given toggles, or to every toggle when none are given.
+     */
+    public SseEmitter subscribe(Set<String> toggleNames) {
+        final SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        final StreamSubscriber subscriber = new StreamSubscriber(emitter, Set.copyOf(toggleNames), executor,
+                properties.getMaxQueuedEvents());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Commits the response headers, so the client knows the stream is open before the first change
+        subscriber.send(SseEmitter.event().comment("connected"));
+        log.debug("Stream opened: toggles={} streams={}", toggleNames, subscribers.size());
+        return emitter;
+    }
+
+    // Changes made on other instances arrive without the toggle, so the state comes from the snapshot once
+    // the change is in it
+    @EventListener
+    public void onToggleChanged(ToggleNotificationEvent event) {
+        final String toggleName = event.toggleName();
+        snapshotHolder.afterRefresh(toggleName,
+                () -> broadcast(toggleName, isEnabled(toggleName), event.value(), event.revision()));
+    }
+
+    @EventListener
+    public void onAttributeChanged(AttributeChangedEvent event) {
+        for (String toggleName : event.affectedToggleNames()) {
+            snapshotHolder.afterRefresh(toggleName,
+                    () -> broadcast(toggleName, isEnabled(toggleName), null, event.revision()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(StreamSubscriber::close);
+        executor.shutdown();
+    }
+
+    // A toggle missing from the snapshot was deleted
+    private boolean isEnabled(String toggleName) {
+        final ToggleSnapshot toggle = snapshotHolder.current().find(toggleName);
+        return toggle != null && toggle.enabled();
+    }
+
+    private void broadcast(String toggleName, boolean enabled, String value, long revision) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        final ToggleChangeEvent change = new ToggleChangeEvent(toggleName, enabled, value, revision);
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.toggleNames().isEmpty() || subscriber.toggleNames().contains(toggleName)) {
+                subscriber.send(SseEmitter.event()
+                        .id(Long.toString(change.revision()))
+                        .name(EVENT_NAME)
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- PostgreSQL partitions audit_logs by month instead (db/postgresql/V6__partition_audit_logs.sql)
+CREATE INDEX idx_audit_logs_created_at ON audit_logs (created_at);
@@ -0,0 +1,5 @@
+-- Toggle the audited action applied to, copied out of the payload so it can be filtered on
+ALTER TABLE audit_logs ADD COLUMN toggle_name VARCHAR(255);
+
+CREATE INDEX idx_audit_logs_resource_action ON audit_logs (resource, action, created_at);
+CREATE INDEX idx_audit_logs_toggle_name ON audit_logs (toggle_name, created_at);
@@ -0,0 +1,3 @@
+-- uk_allow_list_entry_toggle_value (toggle_name, toggle_value) already serves lookups by toggle_name,
+-- and keeping a second index makes every bulk allow-list write maintain both
+DROP INDEX idx_allow_list_toggle_name;
@@ -0,0 +1,14 @@
+CREATE TABLE notification_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    client_registration_id UUID NOT NULL,
+    callback_url VARCHAR(1024) NOT NULL,
+    toggle_name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1024),
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_notification_outbox_client FOREIGN KEY (client_registration_id) REFERENCES client_registrations (id) ON DELETE CASCADE
+);
+CREATE INDEX idx_notification_outbox_due ON notification_outbox (status, next_attempt_at);
+CREATE INDEX idx_notification_outbox_client ON notification_outbox (client_registration_id);
@@ -0,0 +1,4 @@
+-- Enqueueing checks for a pending notification per (client, toggle); the composite index also serves
+-- the foreign key, which the single-column index covered before
+DROP INDEX idx_notification_outbox_client;
+CREATE INDEX idx_notification_outbox_client_toggle ON notification_outbox (client_registration_id, toggle_name, status);
@@ -0,0 +1,19 @@
+-- Single-row counter: incrementing it locks the row until commit, so revisions are assigned in commit
+-- order and a rolled back change gives its revision back
+CREATE TABLE global_revision (
+    id INT PRIMARY KEY,
+    revision BIGINT NOT NULL
+);
+INSERT INTO global_revision (id, revision) VALUES (1, 0);
+
+CREATE TABLE change_log (
+    revision BIGINT PRIMARY KEY,
+    change_type VARCHAR(50) NOT NULL,
+    entity_name VARCHAR(255) NOT NULL,
+    change_value VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
+
+ALTER TABLE toggles ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE attributes ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Instance that made the change, so it can skip its own changes when replaying the log
+ALTER TABLE change_log ADD COLUMN origin VARCHAR(36);
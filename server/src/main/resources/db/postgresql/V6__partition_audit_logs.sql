@@ -0,0 +1,40 @@
+-- Range-partition audit_logs by month so expired months can be dropped or detached as whole tables.
+-- Partitions are named audit_logs_yYYYYmMM; AuditPartitionMaintainer keeps creating them ahead of time.
+-- Rows of a month without a partition land in audit_logs_default until the maintainer creates it.
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER TABLE audit_logs_unpartitioned RENAME CONSTRAINT audit_logs_pkey TO audit_logs_unpartitioned_pkey;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE audit_logs (
+    id UUID NOT NULL,
+    action VARCHAR(100) NOT NULL,
+    resource VARCHAR(255) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+CREATE INDEX idx_audit_logs_created_at ON audit_logs (created_at);
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- One partition per month from the oldest existing row to three months ahead
+DO $$
+DECLARE
+    partition_month DATE;
+    last_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(min(created_at), LOCALTIMESTAMP))::date,
+           (date_trunc('month', GREATEST(COALESCE(max(created_at), LOCALTIMESTAMP), LOCALTIMESTAMP))
+                + INTERVAL '3 months')::date
+      INTO partition_month, last_month
+      FROM audit_logs_unpartitioned;
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_' || to_char(partition_month, '"y"YYYY"m"MM'),
+                       partition_month, (partition_month + INTERVAL '1 month')::date);
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, action, resource, payload, created_at)
+SELECT id, action, resource, payload, created_at FROM audit_logs_unpartitioned;
+DROP TABLE audit_logs_unpartitioned;
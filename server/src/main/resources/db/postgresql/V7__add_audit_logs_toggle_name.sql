@@ -0,0 +1,11 @@
+-- Toggle the audited action applied to, copied out of the payload so it can be filtered on
+ALTER TABLE audit_logs ADD COLUMN toggle_name VARCHAR(255);
+
+UPDATE audit_logs
+   SET toggle_name = COALESCE(payload::jsonb ->> 'toggleName',
+                              CASE WHEN resource = 'Toggle' THEN payload::jsonb ->> 'name' END)
+ WHERE payload IS NOT NULL;
+
+-- Created on every partition; later partitions inherit them
+CREATE INDEX idx_audit_logs_resource_action ON audit_logs (resource, action, created_at);
+CREATE INDEX idx_audit_logs_toggle_name ON audit_logs (toggle_name, created_at);
@@ -0,0 +1,68 @@
+package com.fnl33.featuretoggle.dto;
+
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void shouldRoundTripWhenKeyHasSeparatorsAndNonAscii() {
+        // Arrange
+        final String key = "2026-01-01T00:00:00Z|café/ü?&=";
+
+        // Act
+        final String cursor = PageCursor.encode(key);
+
+        // Assert
+        assertEquals(key, PageCursor.decode(cursor));
+        assertEquals(-1, cursor.indexOf('+'));
+        assertEquals(-1, cursor.indexOf('/'));
+        assertEquals(-1, cursor.indexOf('='));
+    }
+
+    @Test
+    void shouldReturnNullWhenCursorIsMissingOrBlank() {
+        // Act & Assert
+        assertNull(PageCursor.encode(null));
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+        assertNull(PageCursor.decode("   "));
+    }
+
+    @Test
+    void shouldAcceptPaddingWhenCursorWasEncodedByAnotherClient() {
+        // Arrange
+        final String padded = Base64.getUrlEncoder().encodeToString("ab".getBytes());
+
+        // Act & Assert
+        assertEquals("ab", PageCursor.decode(padded));
+    }
+
+    @Test
+    void shouldRejectWhenCursorIsNotUrlSafeBase64() {
+        // Arrange
+        final List<String> malformed = List.of("a", "ab$c", "a+b/", "abc===", "a b");
+
+        // Act & Assert
+        for (String cursor : malformed) {
+            assertThrows(ValidationException.class, () -> PageCursor.decode(cursor), cursor);
+        }
+    }
+
+    @Test
+    void shouldRejectWhenDecodedBytesAreNotUtf8() {
+        // Arrange
+        final String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(new byte[]{'a', (byte) 0xC3, (byte) 0x28});
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> PageCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,289 @@
+package com.fnl33.featuretoggle.repository;
+
+import com.fnl33.featuretoggle.domain.OutboxStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@Import(NotificationOutboxRepository.class)
+// Claims are checked across concurrent transactions, so each test commits its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationOutboxRepositoryTest {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Autowired
+    private NotificationOutboxRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        jdbcTemplate.update("DELETE FROM client_registrations");
+        clientId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO client_registrations (id, callback_url, created_at, updated_at) "
+                + "VALUES (?, 'http://client.test/hook', ?, ?)", clientId, Timestamp.from(NOW), Timestamp.from(NOW));
+    }
+
+    @Test
+    void shouldKeepOnePendingRowWhenToggleChangesAgainBeforeDelivery() {
+        // Arrange
+        subscribe("checkout");
+
+        // Act
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+
+        // Assert
+        assertEquals(1, countByStatus(OutboxStatus.PENDING));
+    }
+
+    @Test
+    void shouldSkipSubscriptionWhenNoLongerInDatabase() {
+        // Act
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+
+        // Assert
+        assertEquals(0, countByStatus(OutboxStatus.PENDING));
+    }
+
+    @Test
+    void shouldQueueNewRowWhenChangedDuringDelivery() {
+        // Arrange
+        subscribe("checkout");
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+        claim(NOW, 10);
+
+        // Act
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+
+        // Assert
+        assertEquals(1, countByStatus(OutboxStatus.IN_FLIGHT));
+        assertEquals(1, countByStatus(OutboxStatus.PENDING));
+    }
+
+    @Test
+    void shouldClaimOnlyDueRowsInDueOrderWhenPolled() {
+        // Arrange
+        subscribe("a", "b", "c");
+        repository.enqueue(List.of(subscription("b")), NOW, NOW.minusSeconds(1));
+        repository.enqueue(List.of(subscription("a")), NOW, NOW.minusSeconds(2));
+        repository.enqueue(List.of(subscription("c")), NOW, NOW.plusSeconds(60));
+
+        // Act
+        final List<NotificationOutboxEntry> claimed = claim(NOW, 10);
+
+        // Assert
+        assertEquals(List.of("a", "b"), claimed.stream().map(NotificationOutboxEntry::toggleName).toList());
+        assertEquals(2, countByStatus(OutboxStatus.IN_FLIGHT));
+    }
+
+    @Test
+    void shouldNotReclaimRowWhenLeaseHasNotExpired() {
+        // Arrange
+        subscribe("checkout");
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+        claim(NOW, 10);
+
+        // Act
+        final List<NotificationOutboxEntry> beforeExpiry = claim(NOW.plus(LEASE).minusMillis(1), 10);
+        final List<NotificationOutboxEntry> afterExpiry = claim(NOW.plus(LEASE), 10);
+
+        // Assert
+        assertTrue(beforeExpiry.isEmpty());
+        assertEquals(1, afterExpiry.size());
+        assertEquals(Timestamp.from(NOW.plus(LEASE).plus(LEASE)), nextAttemptAt(afterExpiry.get(0)));
+    }
+
+    @Test
+    void shouldReturnRowToQueueWithAttemptWhenRescheduled() {
+        // Arrange
+        subscribe("checkout");
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+        final NotificationOutboxEntry entry = claim(NOW, 10).get(0);
+
+        // Act
+        repository.reschedule(entry, 1, NOW.plusSeconds(30), "HTTP 500");
+
+        // Assert
+        assertTrue(claim(NOW.plusSeconds(29), 10).isEmpty());
+        final List<NotificationOutboxEntry> retried = claim(NOW.plusSeconds(30), 10);
+        assertEquals(1, retried.size());
+        assertEquals(1, retried.get(0).attempts());
+        assertEquals("HTTP 500", jdbcTemplate.queryForObject(
+                "SELECT last_error FROM notification_outbox WHERE id = ?", String.class, entry.id()));
+    }
+
+    @Test
+    void shouldKeepAttemptsWhenPostponed() {
+        // Arrange
+        subscribe("checkout");
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+        final List<NotificationOutboxEntry> claimed = claim(NOW, 10);
+
+        // Act
+        repository.postpone(claimed, NOW.plusSeconds(30));
+
+        // Assert
+        assertEquals(1, countByStatus(OutboxStatus.PENDING));
+        assertEquals(0, claim(NOW.plusSeconds(30), 10).get(0).attempts());
+    }
+
+    @Test
+    void shouldNeverClaimRowWhenDeadLettered() {
+        // Arrange
+        subscribe("checkout");
+        repository.enqueue(List.of(subscription("checkout")), NOW, NOW);
+        final NotificationOutboxEntry entry = claim(NOW, 10).get(0);
+
+        // Act
+        repository.deadLetter(entry, 10, NOW, "x".repeat(2000));
+
+        // Assert
+        assertTrue(claim(NOW.plus(Duration.ofDays(365)), 10).isEmpty());
+        assertEquals(1, countByStatus(OutboxStatus.DEAD));
+        assertEquals(1024, jdbcTemplate.queryForObject(
+                "SELECT LENGTH(last_error) FROM notification_outbox WHERE id = ?", Integer.class, entry.id()));
+    }
+
+    @Test
+    void shouldPurgeOnlyDeadRowsOlderThanCutoff() {
+        // Arrange
+        subscribe("old", "recent", "pending");
+        repository.enqueue(List.of(subscription("old"), subscription("recent")), NOW, NOW);
+        final List<NotificationOutboxEntry> claimed = claim(NOW, 10);
+        repository.deadLetter(claimed.get(0), 10, NOW.minus(Duration.ofDays(8)), "HTTP 500");
+        repository.deadLetter(claimed.get(1), 10, NOW.minus(Duration.ofDays(1)), "HTTP 500");
+        repository.enqueue(List.of(subscription("pending")), NOW, NOW.minus(Duration.ofDays(30)));
+
+        // Act
+        final int purged = repository.deleteDeadBefore(NOW.minus(Duration.ofDays(7)));
+
+        // Assert
+        assertEquals(1, purged);
+        assertEquals(1, countByStatus(OutboxStatus.DEAD));
+        assertEquals(1, countByStatus(OutboxStatus.PENDING));
+    }
+
+    @Test
+    void shouldDeleteRowsWhenDelivered() {
+        // Arrange
+        subscribe("a", "b");
+        repository.enqueue(List.of(subscription("a"), subscription("b")), NOW, NOW);
+        final List<NotificationOutboxEntry> claimed = claim(NOW, 10);
+
+        // Act
+        repository.delete(claimed);
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox", Integer.class));
+    }
+
+    @Test
+    void shouldNeverClaimSameRowWhenPollersRace() throws Exception {
+        // Arrange
+        final List<ClientSubscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            subscribe("toggle-" + i);
+            subscriptions.add(subscription("toggle-" + i));
+        }
+        repository.enqueue(subscriptions, NOW, NOW);
+        final CountDownLatch firstClaimed = new CountDownLatch(1);
+        final CountDownLatch secondClaimed = new CountDownLatch(1);
+
+        // Act: the first poller keeps its rows locked until the second one has claimed
+        final CompletableFuture<List<NotificationOutboxEntry>> first = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    final List<NotificationOutboxEntry> entries = repository.claimDue(NOW, NOW.plus(LEASE), 12);
+                    firstClaimed.countDown();
+                    await(secondClaimed);
+                    return entries;
+                }));
+        await(firstClaimed);
+        final List<NotificationOutboxEntry> second = claim(NOW, 12);
+        secondClaimed.countDown();
+        final List<NotificationOutboxEntry> firstEntries = first.get(10, TimeUnit.SECONDS);
+
+        final List<NotificationOutboxEntry> rest = claim(NOW, 20);
+
+        // Assert: PostgreSQL fills the second claim from the unlocked rows, H2 applies the limit before
+        // skipping locked rows and may leave them for a later poll; neither hands out a row twice
+        assertEquals(12, firstEntries.size());
+        final Set<Long> ids = new HashSet<>();
+        for (List<NotificationOutboxEntry> entries : List.of(firstEntries, second, rest)) {
+            entries.forEach(entry -> assertTrue(ids.add(entry.id()), "claimed twice: " + entry.id()));
+        }
+        assertEquals(20, ids.size());
+        assertEquals(20, countByStatus(OutboxStatus.IN_FLIGHT));
+    }
+
+    private List<NotificationOutboxEntry> claim(Instant now, int limit) {
+        return transactionTemplate.execute(status -> repository.claimDue(now, now.plus(LEASE), limit));
+    }
+
+    private void subscribe(String... toggleNames) {
+        for (String toggleName : toggleNames) {
+            jdbcTemplate.update("INSERT INTO client_registration_toggles (client_registration_id, toggle_name) "
+                    + "VALUES (?, ?)", clientId, toggleName);
+        }
+    }
+
+    private ClientSubscription subscription(String toggleName) {
+        return new ClientSubscription(clientId, "http://client.test/hook", toggleName);
+    }
+
+    private int countByStatus(OutboxStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox WHERE status = ?",
+                Integer.class, status.name());
+    }
+
+    private Timestamp nextAttemptAt(NotificationOutboxEntry entry) {
+        return jdbcTemplate.queryForObject("SELECT next_attempt_at FROM notification_outbox WHERE id = ?",
+                Timestamp.class, entry.id());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other poller");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
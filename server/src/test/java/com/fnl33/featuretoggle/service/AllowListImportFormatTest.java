@@ -0,0 +1,64 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllowListImportFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldReadFirstColumnWhenCsvValueIsUnquoted() {
+        // Act & Assert
+        assertEquals("user-1", AllowListImportFormat.CSV.parseLine("user-1", objectMapper));
+        assertEquals("user-2", AllowListImportFormat.CSV.parseLine("user-2,Jane,DE", objectMapper));
+    }
+
+    @Test
+    void shouldUnquoteWhenCsvValueIsQuoted() {
+        // Act & Assert
+        assertEquals("Doe, Jane", AllowListImportFormat.CSV.parseLine("\"Doe, Jane\",DE", objectMapper));
+        assertEquals("say \"hi\"", AllowListImportFormat.CSV.parseLine("\"say \"\"hi\"\"\"", objectMapper));
+        assertEquals("", AllowListImportFormat.CSV.parseLine("\"\"", objectMapper));
+    }
+
+    @Test
+    void shouldRejectWhenCsvQuoteIsUnterminated() {
+        // Act & Assert
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> AllowListImportFormat.CSV.parseLine("\"user-1,DE", objectMapper));
+        assertEquals("Unterminated quoted value", exception.getMessage());
+    }
+
+    @Test
+    void shouldReadValueWhenNdjsonLineIsScalarOrObject() {
+        // Act & Assert
+        assertEquals("user-1", AllowListImportFormat.NDJSON.parseLine("\"user-1\"", objectMapper));
+        assertEquals("42", AllowListImportFormat.NDJSON.parseLine("42", objectMapper));
+        assertEquals("user-2", AllowListImportFormat.NDJSON.parseLine("{\"value\":\"user-2\",\"note\":\"x\"}", objectMapper));
+    }
+
+    @Test
+    void shouldRejectWhenNdjsonLineHasNoValue() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> AllowListImportFormat.NDJSON.parseLine("{\"value\":", objectMapper));
+        assertThrows(ValidationException.class, () -> AllowListImportFormat.NDJSON.parseLine("null", objectMapper));
+        assertThrows(ValidationException.class, () -> AllowListImportFormat.NDJSON.parseLine("[\"user-1\"]", objectMapper));
+        assertThrows(ValidationException.class, () -> AllowListImportFormat.NDJSON.parseLine("{\"id\":\"user-1\"}", objectMapper));
+        assertThrows(ValidationException.class,
+                () -> AllowListImportFormat.NDJSON.parseLine("{\"value\":{\"id\":1}}", objectMapper));
+    }
+
+    @Test
+    void shouldPickFormatWhenContentTypeHasParameters() {
+        // Act & Assert
+        assertEquals(AllowListImportFormat.CSV, AllowListImportFormat.from(MediaType.parseMediaType("text/csv;charset=UTF-8")));
+        assertEquals(AllowListImportFormat.NDJSON, AllowListImportFormat.from(MediaType.parseMediaType("application/x-ndjson")));
+        assertThrows(ValidationException.class, () -> AllowListImportFormat.from(MediaType.APPLICATION_JSON));
+    }
+}
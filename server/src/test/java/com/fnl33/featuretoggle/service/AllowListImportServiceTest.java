@@ -0,0 +1,204 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.AllowListImportProperties;
+import com.fnl33.featuretoggle.config.AuditProperties;
+import com.fnl33.featuretoggle.domain.ChangeType;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.exception.ToggleNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+// Chunks are committed in transactions of their own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AllowListImportServiceTest {
+
+    private static final String TOGGLE_NAME = "checkout";
+
+    @Autowired
+    private ToggleRepository toggleRepository;
+
+    @Autowired
+    private AllowListEntryRepository allowListEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+    private final AllowListImportProperties properties = new AllowListImportProperties();
+    private final List<Object> audited = new CopyOnWriteArrayList<>();
+    private final List<ChangeType> notified = new CopyOnWriteArrayList<>();
+    private AllowListImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM allow_list_entries");
+        jdbcTemplate.update("DELETE FROM toggles");
+        jdbcTemplate.update("DELETE FROM attributes");
+        final Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO attributes (name, description, data_type, created_at, updated_at) "
+                + "VALUES ('userId', NULL, 'STRING', ?, ?)", now, now);
+        jdbcTemplate.update("INSERT INTO toggles (name, description, enabled, attribute_name, created_at, updated_at) "
+                + "VALUES (?, NULL, TRUE, 'userId', ?, ?)", TOGGLE_NAME, now, now);
+
+        final AuditService auditService = new AuditService(null, null, new AuditProperties(), metricsService,
+                new ObjectMapper()) {
+            @Override
+            public void logAction(String action, String resource, Object payload) {
+                audited.add(payload);
+            }
+        };
+        final NotificationOrchestrator notificationOrchestrator = new NotificationOrchestrator(
+                null, null, null, null, null, null) {
+            @Override
+            public void notifyToggleChange(Toggle toggle, ChangeType changeType, String value) {
+                notified.add(changeType);
+            }
+        };
+        importService = new AllowListImportService(toggleRepository, allowListEntryRepository,
+                notificationOrchestrator, auditService, metricsService, new ObjectMapper(), properties,
+                transactionManager);
+    }
+
+    @Test
+    void shouldSkipHeaderAndDuplicatesWhenImportingCsv() {
+        // Arrange
+        insertValue("existing");
+        final String body = "value,name\nuser-1\n\"user-2\",Jane\nuser-1\n\n\"Doe, Jane\"\r\nexisting\n";
+
+        // Act
+        final AllowListImportResult result = importService.importValues(TOGGLE_NAME, AllowListImportFormat.CSV,
+                true, stream(body));
+
+        // Assert
+        assertEquals(5, result.received());
+        assertEquals(3, result.inserted());
+        assertEquals(2, result.duplicates());
+        assertEquals(0, result.rejected());
+        assertEquals(Set.of("existing", "user-1", "user-2", "Doe, Jane"), storedValues());
+        assertEquals(List.of(ChangeType.ALLOW_LIST_IMPORTED), notified);
+        assertEquals(List.of(Map.of("toggleName", TOGGLE_NAME, "received", 5L, "inserted", 3L, "finished", true)),
+                audited);
+    }
+
+    @Test
+    void shouldRejectInvalidLinesWhenImportingNdjson() {
+        // Arrange
+        final String body = String.join("\n",
+                "\"user-1\"",
+                "{\"value\":\"user-2\"}",
+                "not json",
+                "\"" + "x".repeat(256) + "\"",
+                "{\"value\":\"" + "y".repeat(AllowListImportService.MAX_LINE_LENGTH) + "\"}",
+                "\"  \"",
+                "7");
+
+        // Act
+        final AllowListImportResult result = importService.importValues(TOGGLE_NAME, AllowListImportFormat.NDJSON,
+                false, stream(body));
+
+        // Assert
+        assertEquals(7, result.received());
+        assertEquals(3, result.inserted());
+        assertEquals(4, result.rejected());
+        assertEquals(List.of(
+                "line 3: Malformed JSON",
+                "line 4: Allow list value exceeds 255 characters",
+                "line 5: Line exceeds 4096 characters",
+                "line 6: Allow list value is required"), result.errors());
+        assertEquals(Set.of("user-1", "user-2", "7"), storedValues());
+    }
+
+    @Test
+    void shouldWriteEveryChunkWhenValuesSpanSeveralChunks() {
+        // Arrange
+        properties.setChunkSize(2);
+        insertValue("user-3");
+
+        // Act
+        final AllowListImportResult result = importService.importValues(TOGGLE_NAME, AllowListImportFormat.CSV,
+                false, stream("user-1\nuser-2\nuser-3\nuser-4\nuser-5\nuser-1\n"));
+
+        // Assert
+        assertEquals(6, result.received());
+        assertEquals(4, result.inserted());
+        assertEquals(2, result.duplicates());
+        assertEquals(Set.of("user-1", "user-2", "user-3", "user-4", "user-5"), storedValues());
+    }
+
+    @Test
+    void shouldKeepAndAnnounceCommittedChunksWhenReadingFails() {
+        // Arrange
+        properties.setChunkSize(2);
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        final InputStream body = new SequenceInputStream(stream("user-1\nuser-2\nuser-3\n"), failing);
+
+        // Act
+        assertThrows(UncheckedIOException.class,
+                () -> importService.importValues(TOGGLE_NAME, AllowListImportFormat.CSV, false, body));
+
+        // Assert
+        assertEquals(Set.of("user-1", "user-2"), storedValues());
+        assertEquals(List.of(ChangeType.ALLOW_LIST_IMPORTED), notified);
+        assertEquals(List.of(Map.of("toggleName", TOGGLE_NAME, "received", 3L, "inserted", 2L, "finished", false)),
+                audited);
+    }
+
+    @Test
+    void shouldFailWhenToggleDoesNotExist() {
+        // Act & Assert
+        assertThrows(ToggleNotFoundException.class, () -> importService.importValues("missing",
+                AllowListImportFormat.CSV, false, stream("user-1\n")));
+        assertEquals(Set.of(), storedValues());
+    }
+
+    private void insertValue(String value) {
+        jdbcTemplate.update("INSERT INTO allow_list_entries (id, toggle_name, toggle_value) VALUES (?, ?, ?)",
+                UUID.randomUUID(), TOGGLE_NAME, value);
+    }
+
+    private Set<String> storedValues() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT toggle_value FROM allow_list_entries WHERE toggle_name = ?", String.class, TOGGLE_NAME));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
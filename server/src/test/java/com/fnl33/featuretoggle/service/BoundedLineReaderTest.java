@@ -0,0 +1,59 @@
+package com.fnl33.featuretoggle.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void shouldSplitLinesWhenTerminatorsAreMixed() throws IOException {
+        // Arrange
+        final BoundedLineReader reader = new BoundedLineReader(new StringReader("a\nb\r\nc\rd\n\ne"), 10);
+
+        // Act
+        final List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+
+        // Assert
+        assertEquals(List.of("a", "b", "c", "d", "", "e"), lines);
+    }
+
+    @Test
+    void shouldCutLineAndResumeAtNextLineWhenLineIsTooLong() throws IOException {
+        // Arrange
+        final String longLine = "x".repeat(20_000);
+        final BoundedLineReader reader = new BoundedLineReader(new StringReader("ok\n" + longLine + "\r\nnext"), 8);
+
+        // Act & Assert
+        assertEquals("ok", reader.readLine());
+        assertFalse(reader.lastLineTooLong());
+        assertEquals("xxxxxxxx", reader.readLine());
+        assertTrue(reader.lastLineTooLong());
+        assertEquals("next", reader.readLine());
+        assertFalse(reader.lastLineTooLong());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void shouldAcceptLineWhenItIsExactlyTheMaximumLength() throws IOException {
+        // Arrange
+        final BoundedLineReader reader = new BoundedLineReader(new StringReader("12345678\n"), 8);
+
+        // Act & Assert
+        assertEquals("12345678", reader.readLine());
+        assertFalse(reader.lastLineTooLong());
+        assertNull(reader.readLine());
+    }
+}
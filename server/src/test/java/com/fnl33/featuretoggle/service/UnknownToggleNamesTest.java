@@ -0,0 +1,146 @@
+package com.fnl33.featuretoggle.service;
+
+import com.fnl33.featuretoggle.config.ToggleLookupProperties;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnknownToggleNamesTest {
+
+    private final ToggleLookupProperties properties = new ToggleLookupProperties();
+
+    @Test
+    void shouldRememberNameWhenNothingChangedDuringLookup() {
+        // Arrange
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+        final long generation = unknownToggleNames.generation();
+
+        // Act
+        unknownToggleNames.add("checkout", generation);
+
+        // Assert
+        assertTrue(unknownToggleNames.contains("checkout"));
+    }
+
+    @Test
+    void shouldNotRememberNameWhenToggleWasCreatedDuringLookup() {
+        // Arrange
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+        final long staleGeneration = unknownToggleNames.generation();
+        unknownToggleNames.onToggleChanged(created("checkout"));
+
+        // Act
+        unknownToggleNames.add("checkout", staleGeneration);
+
+        // Assert
+        assertFalse(unknownToggleNames.contains("checkout"));
+    }
+
+    @Test
+    void shouldNotRememberNameWhenClearedDuringLookup() {
+        // Arrange
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+        final long staleGeneration = unknownToggleNames.generation();
+        unknownToggleNames.clear();
+
+        // Act
+        unknownToggleNames.add("checkout", staleGeneration);
+
+        // Assert
+        assertFalse(unknownToggleNames.contains("checkout"));
+    }
+
+    @Test
+    void shouldForgetNameWhenToggleIsCreated() {
+        // Arrange
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+        unknownToggleNames.add("checkout", unknownToggleNames.generation());
+        unknownToggleNames.add("beta", unknownToggleNames.generation());
+
+        // Act
+        unknownToggleNames.onToggleChanged(created("checkout"));
+
+        // Assert
+        assertFalse(unknownToggleNames.contains("checkout"));
+        assertTrue(unknownToggleNames.contains("beta"));
+    }
+
+    @Test
+    void shouldNeverRememberNameWhenCreateRacesWithStaleAdd() throws Exception {
+        // Arrange
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act & Assert
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                final String name = "toggle-" + i;
+                // The lookup read its generation and found nothing before the toggle was created
+                final long staleGeneration = unknownToggleNames.generation();
+                final Future<?> lookup = executor.submit(() -> {
+                    barrier.await();
+                    unknownToggleNames.add(name, staleGeneration);
+                    return null;
+                });
+                final Future<?> create = executor.submit(() -> {
+                    barrier.await();
+                    unknownToggleNames.onToggleChanged(created(name));
+                    return null;
+                });
+                lookup.get();
+                create.get();
+                assertFalse(unknownToggleNames.contains(name), name);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotRememberNamesWhenTtlIsZero() {
+        // Arrange
+        properties.setUnknownNameTtl(Duration.ZERO);
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+
+        // Act
+        unknownToggleNames.add("checkout", unknownToggleNames.generation());
+
+        // Assert
+        assertFalse(unknownToggleNames.contains("checkout"));
+    }
+
+    @Test
+    void shouldSkipNewNamesWhenCacheIsFull() {
+        // Arrange
+        properties.setUnknownNameMaxEntries(2);
+        final UnknownToggleNames unknownToggleNames = newUnknownToggleNames();
+        unknownToggleNames.add("a", unknownToggleNames.generation());
+        unknownToggleNames.add("b", unknownToggleNames.generation());
+
+        // Act
+        unknownToggleNames.add("c", unknownToggleNames.generation());
+
+        // Assert
+        assertTrue(unknownToggleNames.contains("a"));
+        assertTrue(unknownToggleNames.contains("b"));
+        assertFalse(unknownToggleNames.contains("c"));
+    }
+
+    private UnknownToggleNames newUnknownToggleNames() {
+        return new UnknownToggleNames(properties, new MetricsService(new SimpleMeterRegistry()));
+    }
+
+    private static ToggleNotificationEvent created(String toggleName) {
+        return new ToggleNotificationEvent(toggleName, null, 1);
+    }
+}
@@ -0,0 +1,125 @@
+package com.fnl33.featuretoggle.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwoWhenCreated() {
+        // Act & Assert
+        assertEquals(2, new AuditRingBuffer<Integer>(1).capacity());
+        assertEquals(8, new AuditRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<Integer>(8).capacity());
+    }
+
+    @Test
+    void shouldRejectOfferWhenFull() {
+        // Arrange
+        final AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        // Act
+        final boolean accepted = buffer.offer(4);
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(4, buffer.size());
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+    }
+
+    @Test
+    void shouldReturnNullWhenEmpty() {
+        // Arrange
+        final AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+
+        // Act & Assert
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void shouldKeepFifoOrderWhenWrappingAroundManyTimes() {
+        // Arrange
+        final AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+
+        // Act & Assert
+        for (int lap = 0; lap < 1000; lap++) {
+            // Uneven batches move the head and tail across the end of the array at different points
+            final int batch = 1 + lap % 4;
+            for (int i = 0; i < batch; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            for (int i = 0; i < batch; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+    }
+
+    @Test
+    void shouldDeliverEveryElementOnceWhenProducersRace() throws InterruptedException {
+        // Arrange
+        final int producers = 4;
+        final int perProducer = 10_000;
+        final AuditRingBuffer<long[]> buffer = new AuditRingBuffer<>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new long[]{producer, i})) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        final int[] nextPerProducer = new int[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            final long[] element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            // Assert: each producer's elements arrive once and in the order it offered them
+            assertEquals(nextPerProducer[(int) element[0]]++, element[1]);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertNull(buffer.poll());
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer, nextPerProducer[p]);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.fnl33.featuretoggle.service.changes;
+
+import com.fnl33.featuretoggle.config.ChangeFeedProperties;
+import com.fnl33.featuretoggle.domain.ChangeType;
+import com.fnl33.featuretoggle.dto.ChangeResponse;
+import com.fnl33.featuretoggle.dto.ChangesResponse;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.service.KeysetPage;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@Import(ChangeLogRepository.class)
+// The dispatcher reads the log on its own connection
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeFeedTest {
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ChangeFeedProperties properties = new ChangeFeedProperties();
+    private ChangeFeed changeFeed;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM change_log");
+        jdbcTemplate.update("UPDATE global_revision SET revision = 0");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Long enough that only the commit events can wake waiters within a test
+        properties.setCheckInterval(Duration.ofMinutes(1));
+        changeFeed = new ChangeFeed(changeLogRepository, properties, new MetricsService(new SimpleMeterRegistry()));
+        changeFeed.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void shouldReturnCurrentRevisionWhenSinceIsMissing() {
+        // Arrange
+        append("checkout");
+        append("beta");
+
+        // Act
+        final ChangesResponse response = result(changeFeed.changesSince(null, "30s", 10));
+
+        // Assert
+        assertEquals(ChangesResponse.empty(2), response);
+    }
+
+    @Test
+    void shouldWaitAtHeadUntilChangeIsCommitted() throws InterruptedException {
+        // Arrange
+        append("checkout");
+        final DeferredResult<ChangesResponse> result = changeFeed.changesSince(1L, "30s", 10);
+        TimeUnit.MILLISECONDS.sleep(200);
+        final boolean answeredBeforeChange = result.hasResult();
+
+        // Act
+        append("beta");
+        changeFeed.onToggleChanged(new ToggleNotificationEvent("beta", null, 2));
+        final ChangesResponse response = awaitResult(result);
+
+        // Assert
+        assertFalse(answeredBeforeChange);
+        assertEquals(List.of(2L), revisions(response));
+        assertEquals(2, response.revision());
+        assertFalse(response.hasMore());
+        assertFalse(response.resyncRequired());
+    }
+
+    @Test
+    void shouldAnswerAtOnceWhenChangesAreAlreadyThere() {
+        // Arrange
+        append("checkout");
+        append("beta");
+
+        // Act
+        final ChangesResponse response = result(changeFeed.changesSince(1L, "30s", 10));
+
+        // Assert
+        assertEquals(List.of(2L), revisions(response));
+    }
+
+    @Test
+    void shouldAnswerEmptyWhenNotWaitingAtHead() {
+        // Arrange
+        append("checkout");
+
+        // Act
+        final ChangesResponse response = result(changeFeed.changesSince(1L, "0s", 10));
+
+        // Assert
+        assertEquals(ChangesResponse.empty(1), response);
+    }
+
+    @Test
+    void shouldRequireResyncWhenChangesAfterSinceWerePurged() {
+        // Arrange
+        append("checkout");
+        append("beta");
+        append("checkout");
+        changeLogRepository.deleteOlderThan(Instant.now().plusSeconds(60));
+        append("beta");
+
+        // Act
+        final ChangesResponse gap = result(changeFeed.changesSince(1L, "0s", 10));
+        final ChangesResponse waitingGap = result(changeFeed.changesSince(1L, "30s", 10));
+        final ChangesResponse nothingLeft = result(changeFeed.changesSince(4L, "0s", 10));
+        final ChangesResponse fromLastKept = result(changeFeed.changesSince(3L, "0s", 10));
+
+        // Assert
+        assertEquals(ChangesResponse.resync(4), gap);
+        assertEquals(ChangesResponse.resync(4), waitingGap);
+        assertEquals(ChangesResponse.empty(4), nothingLeft);
+        assertEquals(List.of(4L), revisions(fromLastKept));
+    }
+
+    @Test
+    void shouldRequireResyncWhenWaiterMissedPurgedChanges() throws InterruptedException {
+        // Arrange
+        append("checkout");
+        final DeferredResult<ChangesResponse> result = changeFeed.changesSince(1L, "30s", 10);
+        // Committed together so the dispatcher never sees revision 2 before it is purged
+        transactionTemplate.executeWithoutResult(status -> {
+            append("beta");
+            changeLogRepository.deleteOlderThan(Instant.now().plusSeconds(60));
+            append("checkout");
+        });
+
+        // Act
+        changeFeed.onToggleChanged(new ToggleNotificationEvent("checkout", null, 3));
+        final ChangesResponse response = awaitResult(result);
+
+        // Assert
+        assertEquals(ChangesResponse.resync(3), response);
+    }
+
+    @Test
+    void shouldCapPageAtSizeWhenMoreChangesAreAvailable() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            append("toggle-" + i);
+        }
+        final DeferredResult<ChangesResponse> waiting = changeFeed.changesSince(5L, "30s", 2);
+
+        // Act
+        final ChangesResponse first = result(changeFeed.changesSince(0L, "0s", 2));
+        final ChangesResponse rest = result(changeFeed.changesSince(first.revision(), "0s", 10));
+        transactionTemplate.executeWithoutResult(status -> {
+            append("toggle-5");
+            append("toggle-6");
+            append("toggle-7");
+        });
+        changeFeed.onToggleChanged(new ToggleNotificationEvent("toggle-7", null, 8));
+        final ChangesResponse woken = awaitResult(waiting);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), revisions(first));
+        assertTrue(first.hasMore());
+        assertEquals(List.of(3L, 4L, 5L), revisions(rest));
+        assertFalse(rest.hasMore());
+        assertEquals(List.of(6L, 7L), revisions(woken));
+        assertTrue(woken.hasMore());
+    }
+
+    @Test
+    void shouldRejectWhenSizeOrWaitIsOutOfRange() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> changeFeed.changesSince(0L, "0s", 0));
+        assertThrows(ValidationException.class, () -> changeFeed.changesSince(0L, "0s", KeysetPage.MAX_SIZE + 1));
+        assertThrows(ValidationException.class, () -> changeFeed.changesSince(0L, "61s", 10));
+        assertThrows(ValidationException.class, () -> changeFeed.changesSince(0L, "soon", 10));
+        assertThrows(ValidationException.class, () -> changeFeed.changesSince(-1L, "0s", 10));
+    }
+
+    private void append(String toggleName) {
+        changeLogRepository.append(ChangeType.TOGGLE_UPDATED, toggleName, null, "test", Instant.now());
+    }
+
+    private static ChangesResponse result(DeferredResult<ChangesResponse> result) {
+        assertTrue(result.hasResult(), "answered without waiting");
+        return (ChangesResponse) result.getResult();
+    }
+
+    private static ChangesResponse awaitResult(DeferredResult<ChangesResponse> result) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!result.hasResult()) {
+            assertTrue(System.nanoTime() < deadline, "waiter not woken");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return (ChangesResponse) result.getResult();
+    }
+
+    private static List<Long> revisions(ChangesResponse response) {
+        return response.changes().stream().map(ChangeResponse::revision).toList();
+    }
+}
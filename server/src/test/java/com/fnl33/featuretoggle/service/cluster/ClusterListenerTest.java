@@ -0,0 +1,180 @@
+package com.fnl33.featuretoggle.service.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.ClusterProperties;
+import com.fnl33.featuretoggle.config.ToggleLookupProperties;
+import com.fnl33.featuretoggle.domain.ChangeType;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.fnl33.featuretoggle.service.UnknownToggleNames;
+import com.fnl33.featuretoggle.service.evaluation.EvaluationSnapshotHolder;
+import com.fnl33.featuretoggle.service.event.AttributeChangedEvent;
+import com.fnl33.featuretoggle.service.event.ToggleNotificationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(ChangeLogRepository.class)
+// The snapshot is loaded in transactions of its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClusterListenerTest {
+
+    private static final String OTHER_ORIGIN = "other-instance";
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ToggleRepository toggleRepository;
+
+    @Autowired
+    private AllowListEntryRepository allowListEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MetricsService metricsService = new MetricsService(meterRegistry);
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final ClusterProperties properties = new ClusterProperties();
+    private EvaluationSnapshotHolder snapshotHolder;
+    private UnknownToggleNames unknownToggleNames;
+    private ClusterChannel clusterChannel;
+    private ClusterListener listener;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM change_log");
+        jdbcTemplate.update("UPDATE global_revision SET revision = 0");
+        jdbcTemplate.update("DELETE FROM toggles");
+        jdbcTemplate.update("DELETE FROM attributes");
+        final Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO attributes (name, description, data_type, created_at, updated_at) "
+                + "VALUES ('country', NULL, 'STRING', ?, ?)", now, now);
+        insertToggle("checkout");
+
+        snapshotHolder = new EvaluationSnapshotHolder(toggleRepository, allowListEntryRepository,
+                changeLogRepository, transactionManager, metricsService);
+        snapshotHolder.refreshAll();
+        unknownToggleNames = new UnknownToggleNames(new ToggleLookupProperties(), metricsService);
+        clusterChannel = new ClusterChannel(jdbcTemplate, new ObjectMapper(), properties);
+        // The listener thread is never started; catch-up is driven by the tests
+        listener = new ClusterListener(new DataSourceProperties(), changeLogRepository, snapshotHolder,
+                unknownToggleNames, events::add, new ObjectMapper(), clusterChannel, properties, metricsService);
+    }
+
+    @Test
+    void shouldReplayOnlyOtherInstancesChangesWhenCatchingUp() {
+        // Arrange
+        append(ChangeType.TOGGLE_UPDATED, "checkout", null, OTHER_ORIGIN);
+        append(ChangeType.TOGGLE_UPDATED, "checkout", null, clusterChannel.origin());
+        append(ChangeType.ATTRIBUTE_UPDATED, "country", null, OTHER_ORIGIN);
+        append(ChangeType.ALLOW_LIST_VALUE_ADDED, "checkout", "US", null);
+
+        // Act
+        listener.catchUp();
+
+        // Assert
+        assertEquals(List.of(
+                new ToggleNotificationEvent("checkout", null, 1),
+                new AttributeChangedEvent("country", List.of("checkout"), 3),
+                new ToggleNotificationEvent("checkout", "US", 4)), events);
+        assertEquals(3, meterRegistry.get("cluster.changes.applied").tag("source", "change_log").counter().count());
+        assertEquals(0, meterRegistry.get("cluster.reloads").counter().count());
+    }
+
+    @Test
+    void shouldNotReplayChangesAgainWhenAlreadyCaughtUp() {
+        // Arrange
+        append(ChangeType.TOGGLE_UPDATED, "checkout", null, OTHER_ORIGIN);
+        listener.catchUp();
+        events.clear();
+
+        // Act
+        listener.catchUp();
+        append(ChangeType.TOGGLE_DELETED, "checkout", null, clusterChannel.origin());
+        listener.catchUp();
+        listener.catchUp();
+
+        // Assert
+        assertTrue(events.isEmpty());
+        assertEquals(0, meterRegistry.get("cluster.reloads").counter().count());
+    }
+
+    @Test
+    void shouldReloadSnapshotWhenMissedChangesWerePurged() {
+        // Arrange
+        insertToggle("beta");
+        append(ChangeType.TOGGLE_CREATED, "beta", null, OTHER_ORIGIN);
+        append(ChangeType.TOGGLE_UPDATED, "beta", null, OTHER_ORIGIN);
+        changeLogRepository.deleteOlderThan(Instant.now().plus(Duration.ofMinutes(1)));
+        append(ChangeType.TOGGLE_UPDATED, "checkout", null, OTHER_ORIGIN);
+        unknownToggleNames.add("beta", unknownToggleNames.generation());
+
+        // Act
+        listener.catchUp();
+
+        // Assert
+        assertTrue(events.isEmpty());
+        assertNotNull(snapshotHolder.current().find("beta"));
+        assertEquals(3, snapshotHolder.loadedRevision());
+        assertFalse(unknownToggleNames.contains("beta"));
+        assertEquals(1, meterRegistry.get("cluster.reloads").counter().count());
+    }
+
+    @Test
+    void shouldReloadSnapshotWhenDatabaseRevisionWentBack() {
+        // Arrange
+        append(ChangeType.TOGGLE_UPDATED, "checkout", null, OTHER_ORIGIN);
+        append(ChangeType.TOGGLE_UPDATED, "checkout", null, OTHER_ORIGIN);
+        listener.catchUp();
+        events.clear();
+        // As after restoring an older backup
+        jdbcTemplate.update("DELETE FROM change_log");
+        jdbcTemplate.update("UPDATE global_revision SET revision = 1");
+
+        // Act
+        listener.catchUp();
+        append(ChangeType.TOGGLE_UPDATED, "checkout", "DE", OTHER_ORIGIN);
+        listener.catchUp();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("cluster.reloads").counter().count());
+        assertEquals(List.of(new ToggleNotificationEvent("checkout", "DE", 2)), events);
+    }
+
+    private void append(ChangeType changeType, String name, String value, String origin) {
+        changeLogRepository.append(changeType, name, value, origin, Instant.now());
+    }
+
+    private void insertToggle(String name) {
+        final Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO toggles (name, description, enabled, attribute_name, created_at, updated_at) "
+                + "VALUES (?, NULL, TRUE, 'country', ?, ?)", name, now, now);
+    }
+}
@@ -0,0 +1,127 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactStringAllowListTest {
+
+    @Test
+    void shouldMatchNothingWhenEmpty() {
+        // Arrange
+        final CompactStringAllowList allowList = CompactStringAllowList.of(List.of());
+
+        // Act & Assert
+        assertFalse(allowList.contains(""));
+        assertFalse(allowList.contains("a"));
+        assertEquals(0, allowList.size());
+    }
+
+    @Test
+    void shouldStoreDuplicatesOnceWhenBuilding() {
+        // Arrange
+        final CompactStringAllowList allowList = CompactStringAllowList.of(List.of("b", "a", "b", "a", "c"));
+        final List<String> visited = new ArrayList<>();
+
+        // Act
+        allowList.forEach(visited::add);
+
+        // Assert
+        assertEquals(3, allowList.size());
+        assertEquals(List.of("a", "b", "c"), visited);
+    }
+
+    @Test
+    void shouldTellPrefixesAndExtensionsApartWhenValuesSharePrefixes() {
+        // Arrange
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add("user" + i + "@example.com");
+        }
+        values.add("");
+        final CompactStringAllowList allowList = CompactStringAllowList.of(values);
+
+        // Act & Assert
+        for (String value : values) {
+            assertTrue(allowList.contains(value), value);
+        }
+        assertFalse(allowList.contains("user"));
+        assertFalse(allowList.contains("user1"));
+        assertFalse(allowList.contains("user1@example.co"));
+        assertFalse(allowList.contains("user1@example.comm"));
+        assertFalse(allowList.contains("user100@example.com"));
+        assertFalse(allowList.contains("zzz"));
+        assertFalse(allowList.contains(null));
+    }
+
+    @Test
+    void shouldOrderByUnsignedBytesWhenValuesAreNotAscii() {
+        // Arrange
+        final CompactStringAllowList allowList = CompactStringAllowList.of(List.of("é", "z", "日本", "a"));
+        final List<String> visited = new ArrayList<>();
+
+        // Act
+        allowList.forEach(visited::add);
+
+        // Assert
+        assertEquals(List.of("a", "z", "é", "日本"), visited);
+        assertTrue(allowList.contains("日本"));
+        assertFalse(allowList.contains("日"));
+    }
+
+    @Test
+    void shouldRoundTripWhenValuesNeedMultiByteLengths() {
+        // Arrange
+        final String shared = "x".repeat(300);
+        final List<String> values = List.of(shared + "a", shared + "b", "y".repeat(200));
+        final CompactStringAllowList allowList = CompactStringAllowList.of(values);
+        final List<String> visited = new ArrayList<>();
+
+        // Act
+        allowList.forEach(visited::add);
+
+        // Assert
+        assertEquals(values, visited);
+        assertTrue(allowList.contains(shared + "b"));
+        assertFalse(allowList.contains(shared));
+    }
+
+    @Test
+    void shouldAgreeWithHashSetWhenValuesAreRandom() {
+        // Arrange
+        final Random random = new Random(42);
+        final Set<String> expected = new HashSet<>();
+        while (expected.size() < 2000) {
+            expected.add(randomValue(random));
+        }
+        final CompactStringAllowList allowList = CompactStringAllowList.of(expected);
+
+        // Act & Assert
+        assertEquals(expected.size(), allowList.size());
+        for (String value : expected) {
+            assertTrue(allowList.contains(value), value);
+        }
+        for (int i = 0; i < 20000; i++) {
+            final String probe = randomValue(random);
+            assertEquals(expected.contains(probe), allowList.contains(probe), probe);
+        }
+    }
+
+    // Short values over a small alphabet, so probes often share prefixes with members or are members
+    private static String randomValue(Random random) {
+        final int length = random.nextInt(7);
+        final StringBuilder value = new StringBuilder("tenant-");
+        for (int i = 0; i < length; i++) {
+            value.append((char) ('a' + random.nextInt(4)));
+        }
+        return value.toString();
+    }
+}
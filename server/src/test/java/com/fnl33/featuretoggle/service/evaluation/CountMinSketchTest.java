@@ -0,0 +1,79 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void shouldRoundWidthUpToPowerOfTwoWhenCreated() {
+        // Arrange
+        final CountMinSketch sketch = new CountMinSketch(1000, 4);
+
+        // Act
+        final long bytes = sketch.estimatedBytes();
+
+        // Assert
+        assertEquals(1024L * 4 * Integer.BYTES, bytes);
+    }
+
+    @Test
+    void shouldCountExactlyWhenKeyIsAlone() {
+        // Arrange
+        final CountMinSketch sketch = new CountMinSketch(64, 4);
+
+        // Act
+        int estimate = 0;
+        for (int i = 0; i < 100; i++) {
+            estimate = sketch.add("checkout".hashCode());
+        }
+
+        // Assert
+        assertEquals(100, estimate);
+    }
+
+    @Test
+    void shouldNeverUnderestimateWhenKeysCollide() {
+        // Arrange
+        final CountMinSketch sketch = new CountMinSketch(64, 4);
+        final Random random = new Random(7);
+        final Map<Integer, Integer> counts = new HashMap<>();
+        final Map<Integer, Integer> estimates = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            final int key = random.nextInt(2000);
+            counts.merge(key, 1, Integer::sum);
+            estimates.put(key, sketch.add(Integer.hashCode(key)));
+        }
+
+        // Assert
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            assertTrue(estimates.get(entry.getKey()) >= entry.getValue(), "key " + entry.getKey());
+        }
+    }
+
+    @Test
+    void shouldStayCloseToCountWhenKeyIsHeavy() {
+        // Arrange
+        final CountMinSketch sketch = new CountMinSketch(1024, 4);
+        final Random random = new Random(11);
+        int heavyEstimate = 0;
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            heavyEstimate = sketch.add("heavy".hashCode());
+            sketch.add(random.nextInt());
+        }
+
+        // Assert: 10,000 light keys spread over 1,024 counters per row add little to the minimum
+        assertTrue(heavyEstimate >= 10_000);
+        assertTrue(heavyEstimate < 10_100, "estimate " + heavyEstimate);
+    }
+}
@@ -0,0 +1,111 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.domain.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaAllowListTest {
+
+    @Test
+    void shouldNotGrowOverlayWhenChangeMatchesBase() {
+        // Arrange
+        final DeltaAllowList allowList = DeltaAllowList.over(new HashAllowList(List.of("a", "b")));
+
+        // Act
+        final DeltaAllowList changed = allowList.with("a").without("c");
+
+        // Assert
+        assertEquals(0, changed.overlaySize());
+        assertEquals(2, changed.size());
+    }
+
+    @Test
+    void shouldCancelOutWhenValueIsRemovedAndAddedBack() {
+        // Arrange
+        final DeltaAllowList allowList = DeltaAllowList.over(new HashAllowList(List.of("a", "b")));
+
+        // Act
+        final DeltaAllowList removed = allowList.without("a");
+        final DeltaAllowList restored = removed.with("a");
+
+        // Assert
+        assertFalse(removed.contains("a"));
+        assertEquals(1, removed.size());
+        assertTrue(restored.contains("a"));
+        assertEquals(0, restored.overlaySize());
+    }
+
+    @Test
+    void shouldVisitBaseAndAddedValuesWhenIterating() {
+        // Arrange
+        final DeltaAllowList allowList = DeltaAllowList.over(new HashAllowList(List.of("a", "b")))
+                .without("a")
+                .with("c");
+        final Set<String> visited = new HashSet<>();
+
+        // Act
+        allowList.forEach(visited::add);
+
+        // Assert
+        assertEquals(Set.of("b", "c"), visited);
+        assertEquals(2, allowList.size());
+    }
+
+    @Test
+    void shouldKeepOverlayWhenChangesStayBelowThreshold() {
+        // Arrange
+        AllowList allowList = AllowLists.of(DataType.STRING, List.of("base"));
+
+        // Act
+        for (int i = 0; i < 64; i++) {
+            allowList = AllowLists.with(DataType.STRING, allowList, "value-" + i);
+        }
+
+        // Assert
+        assertInstanceOf(DeltaAllowList.class, allowList);
+        assertEquals(65, allowList.size());
+    }
+
+    @Test
+    void shouldFoldOverlayIntoBaseWhenChangesExceedThreshold() {
+        // Arrange
+        AllowList allowList = AllowLists.of(DataType.STRING, List.of("base", "gone"));
+        allowList = AllowLists.without(DataType.STRING, allowList, "gone");
+
+        // Act
+        for (int i = 0; i < 64; i++) {
+            allowList = AllowLists.with(DataType.STRING, allowList, "value-" + i);
+        }
+
+        // Assert
+        assertInstanceOf(HashAllowList.class, allowList);
+        assertEquals(65, allowList.size());
+        assertTrue(allowList.contains("base"));
+        assertTrue(allowList.contains("value-63"));
+        assertFalse(allowList.contains("gone"));
+    }
+
+    @Test
+    void shouldCompactToNumberAllowListWhenAttributeIsNumber() {
+        // Arrange
+        AllowList allowList = AllowLists.of(DataType.NUMBER, List.of("1"));
+
+        // Act
+        for (int i = 2; i <= 66; i++) {
+            allowList = AllowLists.with(DataType.NUMBER, allowList, Integer.toString(i));
+        }
+
+        // Assert
+        assertInstanceOf(NumberAllowList.class, allowList);
+        assertEquals(66, allowList.size());
+        assertTrue(allowList.contains("66"));
+    }
+}
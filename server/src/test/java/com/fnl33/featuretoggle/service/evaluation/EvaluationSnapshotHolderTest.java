@@ -0,0 +1,280 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import com.fnl33.featuretoggle.domain.Attribute;
+import com.fnl33.featuretoggle.domain.DataType;
+import com.fnl33.featuretoggle.domain.Toggle;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ChangeLogRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationSnapshotHolderTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    // In-memory stand-in for the toggles and allow-list tables
+    private final Map<String, Boolean> toggles = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> allowLists = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> toggleLoads = new ConcurrentHashMap<>();
+    private final AtomicInteger fullAllowListReads = new AtomicInteger();
+    private final List<Long> loadAttemptNanos = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile String blockedToggle;
+    private final CountDownLatch blockedLoadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBlockedLoad = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EvaluationSnapshotHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        toggles.put("checkout", true);
+        allowLists.put("checkout", ConcurrentHashMap.newKeySet());
+        allowLists.get("checkout").add("US");
+        toggles.put("beta", true);
+        allowLists.put("beta", ConcurrentHashMap.newKeySet());
+
+        holder = new EvaluationSnapshotHolder(toggleRepository(), allowListEntryRepository(),
+                changeLogRepository(), new NoOpTransactionManager(), new MetricsService(meterRegistry));
+        holder.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseBlockedLoad.countDown();
+        holder.shutdown();
+    }
+
+    @Test
+    void shouldReloadToggleOnceWhenChangesArriveWhileItsRefreshIsQueued() throws InterruptedException {
+        // Arrange
+        blockedToggle = "beta";
+        holder.refreshToggle("beta");
+        assertTrue(blockedLoadStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        toggles.put("checkout", false);
+
+        // Act
+        holder.refreshToggle("checkout");
+        holder.refreshToggle("checkout");
+        holder.refreshAllowListValue("checkout", "DE");
+        holder.refreshToggle("checkout");
+        releaseBlockedLoad.countDown();
+        awaitRefresh("checkout");
+
+        // Assert
+        assertEquals(1, toggleLoads.get("checkout").get());
+        assertEquals(3, meterRegistry.get("toggle.evaluation.refreshes.coalesced").counter().count());
+        assertFalse(holder.current().find("checkout").enabled());
+    }
+
+    @Test
+    void shouldRetryWithGrowingDelayWhenLoadFails() throws InterruptedException {
+        // Arrange
+        failuresLeft.set(3);
+        toggles.put("checkout", false);
+        final List<Boolean> enabledSeenByAction = new CopyOnWriteArrayList<>();
+
+        // Act
+        holder.refreshToggle("checkout");
+        holder.afterRefresh("checkout", () -> enabledSeenByAction.add(holder.current().find("checkout").enabled()));
+        awaitRefresh("checkout");
+
+        // Assert
+        assertEquals(List.of(false), enabledSeenByAction);
+        assertEquals(3, meterRegistry.get("toggle.evaluation.refreshes.failed").counter().count());
+        assertEquals(4, loadAttemptNanos.size());
+        // The first retry may follow at once when the mark woke the refresher before it went to sleep
+        final long secondDelay = loadAttemptNanos.get(2) - loadAttemptNanos.get(1);
+        final long thirdDelay = loadAttemptNanos.get(3) - loadAttemptNanos.get(2);
+        assertTrue(secondDelay >= TimeUnit.MILLISECONDS.toNanos(190), "second retry after " + secondDelay + "ns");
+        assertTrue(thirdDelay >= TimeUnit.MILLISECONDS.toNanos(390), "third retry after " + thirdDelay + "ns");
+    }
+
+    @Test
+    void shouldRunActionsInOrderOnceRefreshIsInSnapshot() throws InterruptedException {
+        // Arrange
+        blockedToggle = "checkout";
+        final List<String> ran = new CopyOnWriteArrayList<>();
+        toggles.put("checkout", false);
+
+        // Act
+        holder.refreshToggle("checkout");
+        holder.afterRefresh("checkout", () -> ran.add("first enabled=" + holder.current().find("checkout").enabled()));
+        holder.afterRefresh("checkout", () -> ran.add("second"));
+        assertTrue(blockedLoadStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        final List<String> ranWhileLoading = List.copyOf(ran);
+        releaseBlockedLoad.countDown();
+        awaitRefresh("checkout");
+        holder.afterRefresh("beta", () -> ran.add("nothing queued"));
+
+        // Assert
+        assertTrue(ranWhileLoading.isEmpty());
+        assertEquals(List.of("first enabled=false", "second", "nothing queued"), ran);
+    }
+
+    @Test
+    void shouldApplyAllowListValueChangesWithoutReloadingTheToggle() throws InterruptedException {
+        // Arrange
+        allowLists.get("checkout").add("DE");
+        allowLists.get("checkout").remove("US");
+
+        // Act
+        holder.refreshAllowListValue("checkout", "DE");
+        holder.refreshAllowListValue("checkout", "US");
+        holder.refreshAllowListValue("checkout", "FR");
+        awaitRefresh("checkout");
+
+        // Assert
+        final ToggleSnapshot toggle = holder.current().find("checkout");
+        assertTrue(toggle.allows("DE"));
+        assertFalse(toggle.allows("US"));
+        assertFalse(toggle.allows("FR"));
+        assertEquals(0, toggleLoads.getOrDefault("checkout", new AtomicInteger()).get());
+        assertEquals(2, fullAllowListReads.get());
+    }
+
+    @Test
+    void shouldMatchDatabaseWhenValuesAreAddedAndRemovedConcurrently() throws InterruptedException {
+        // Arrange
+        final Random random = new Random(42);
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            values.add("value-" + i);
+        }
+
+        // Act
+        for (int i = 0; i < 2_000; i++) {
+            final String value = values.get(random.nextInt(values.size()));
+            if (random.nextBoolean()) {
+                allowLists.get("checkout").add(value);
+            } else {
+                allowLists.get("checkout").remove(value);
+            }
+            holder.refreshAllowListValue("checkout", value);
+        }
+        awaitRefresh("checkout");
+
+        // Assert
+        final ToggleSnapshot toggle = holder.current().find("checkout");
+        for (String value : values) {
+            assertEquals(allowLists.get("checkout").contains(value), toggle.allows(value), value);
+        }
+        assertTrue(toggle.allows("US"));
+    }
+
+    private void awaitRefresh(String toggleName) throws InterruptedException {
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        holder.afterRefresh(toggleName, refreshed::countDown);
+        assertTrue(refreshed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "refresh of " + toggleName);
+    }
+
+    private ToggleRepository toggleRepository() {
+        return repository(ToggleRepository.class, (method, args) ->
+                switch (method.getName()) {
+                    case "findAllWithAttribute" -> toggles.keySet().stream().map(this::toggle).toList();
+                    case "findByName" -> findByName((String) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private AllowListEntryRepository allowListEntryRepository() {
+        return repository(AllowListEntryRepository.class, (method, args) ->
+                switch (method.getName()) {
+                    case "findValuesByToggleName" -> {
+                        fullAllowListReads.incrementAndGet();
+                        yield List.copyOf(allowLists.get((String) args[0]));
+                    }
+                    case "existsByToggle_NameAndValue" -> allowLists.get((String) args[0]).contains((String) args[1]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Optional<Toggle> findByName(String name) {
+        loadAttemptNanos.add(System.nanoTime());
+        if (name.equals(blockedToggle)) {
+            blockedLoadStarted.countDown();
+            try {
+                releaseBlockedLoad.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failuresLeft.getAndDecrement() > 0) {
+            throw new DataAccessResourceFailureException("Database unavailable");
+        }
+        toggleLoads.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+        return Optional.ofNullable(toggles.containsKey(name) ? toggle(name) : null);
+    }
+
+    private Toggle toggle(String name) {
+        final Attribute attribute = Attribute.builder()
+                .name("country")
+                .dataType(DataType.STRING)
+                .build();
+        return Toggle.builder()
+                .name(name)
+                .enabled(toggles.get(name))
+                .attribute(attribute)
+                .build();
+    }
+
+    private static ChangeLogRepository changeLogRepository() {
+        return new ChangeLogRepository(null) {
+            @Override
+            public long currentRevision() {
+                return 0;
+            }
+        };
+    }
+
+    private static <T> T repository(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> handler.apply(method, args)));
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
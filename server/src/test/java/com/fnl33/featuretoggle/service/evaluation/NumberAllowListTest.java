@@ -0,0 +1,97 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumberAllowListTest {
+
+    @Test
+    void shouldAcceptCanonicalLongsWhenCheckingForm() {
+        // Arrange
+        final List<String> canonical = List.of("0", "7", "-7", "4294967296",
+                "9223372036854775807", "-9223372036854775808");
+
+        // Act & Assert
+        for (String value : canonical) {
+            assertTrue(NumberAllowList.isCanonicalLong(value), value);
+        }
+    }
+
+    @Test
+    void shouldRejectNonCanonicalFormsWhenCheckingForm() {
+        // Arrange
+        final List<String> nonCanonical = List.of("", "-", "-0", "007", "+7", "1.0", "1e3", " 7", "7a",
+                "9223372036854775808", "-9223372036854775809", "10000000000000000000");
+
+        // Act & Assert
+        for (String value : nonCanonical) {
+            assertFalse(NumberAllowList.isCanonicalLong(value), value);
+        }
+    }
+
+    @Test
+    void shouldMatchOnlyExactStringWhenValueIsNotCanonical() {
+        // Arrange
+        final NumberAllowList allowList = NumberAllowList.of(List.of("1", "007", "2.5"));
+
+        // Act & Assert
+        assertTrue(allowList.contains("1"));
+        assertTrue(allowList.contains("007"));
+        assertTrue(allowList.contains("2.5"));
+        assertFalse(allowList.contains("7"));
+        assertFalse(allowList.contains("01"));
+        assertFalse(allowList.contains("2.50"));
+        assertFalse(allowList.contains(null));
+    }
+
+    @Test
+    void shouldMatchValuesWhenAllFitInUnsignedInt() {
+        // Arrange
+        final NumberAllowList allowList = NumberAllowList.of(List.of("0", "4294967295", "42"));
+
+        // Act & Assert
+        assertTrue(allowList.contains("0"));
+        assertTrue(allowList.contains("4294967295"));
+        assertTrue(allowList.contains("42"));
+        assertFalse(allowList.contains("-1"));
+        assertFalse(allowList.contains("4294967296"));
+        assertEquals(3, allowList.size());
+    }
+
+    @Test
+    void shouldMatchValuesWhenSomeDoNotFitInUnsignedInt() {
+        // Arrange
+        final NumberAllowList allowList = NumberAllowList.of(
+                List.of("-5", "9223372036854775807", "-9223372036854775808", "3", "x"));
+
+        // Act & Assert
+        assertTrue(allowList.contains("-5"));
+        assertTrue(allowList.contains("9223372036854775807"));
+        assertTrue(allowList.contains("-9223372036854775808"));
+        assertTrue(allowList.contains("3"));
+        assertTrue(allowList.contains("x"));
+        assertFalse(allowList.contains("4"));
+        assertEquals(5, allowList.size());
+    }
+
+    @Test
+    void shouldVisitEveryValueInCanonicalFormWhenIterating() {
+        // Arrange
+        final NumberAllowList allowList = NumberAllowList.of(List.of("4294967295", "12", "1.5"));
+        final List<String> visited = new ArrayList<>();
+
+        // Act
+        allowList.forEach(visited::add);
+
+        // Assert
+        assertEquals(Set.of("4294967295", "12", "1.5"), Set.copyOf(visited));
+        assertEquals(3, visited.size());
+    }
+}
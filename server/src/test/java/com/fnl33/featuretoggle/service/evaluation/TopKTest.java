@@ -0,0 +1,71 @@
+package com.fnl33.featuretoggle.service.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopKTest {
+
+    @Test
+    void shouldListKeysByCountWhenFewerThanK() {
+        // Arrange
+        final TopK<String> topK = new TopK<>(3);
+
+        // Act
+        topK.offer("b", 5);
+        topK.offer("a", 9);
+
+        // Assert
+        assertEquals(List.of(Map.entry("a", 9L), Map.entry("b", 5L)), topK.top());
+    }
+
+    @Test
+    void shouldKeepHighestEstimateWhenOfferedOutOfOrder() {
+        // Arrange
+        final TopK<String> topK = new TopK<>(3);
+
+        // Act
+        topK.offer("a", 7);
+        topK.offer("a", 4);
+
+        // Assert
+        assertEquals(List.of(Map.entry("a", 7L)), topK.top());
+    }
+
+    @Test
+    void shouldKeepHeaviestKeysWhenManyLightKeysArrive() {
+        // Arrange
+        final TopK<String> topK = new TopK<>(2);
+        topK.offer("heavy-1", 1000);
+        topK.offer("heavy-2", 900);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            topK.offer("light-" + i, 1 + i % 5);
+        }
+
+        // Assert
+        assertEquals(List.of(Map.entry("heavy-1", 1000L), Map.entry("heavy-2", 900L)), topK.top());
+    }
+
+    @Test
+    void shouldAdmitNewKeyOnlyWhenItBeatsThresholdAfterPruning() {
+        // Arrange: five keys with k = 2 prune the map and set the threshold to the second highest count
+        final TopK<String> topK = new TopK<>(2);
+        topK.offer("a", 50);
+        topK.offer("b", 40);
+        topK.offer("c", 3);
+        topK.offer("d", 2);
+        topK.offer("e", 1);
+
+        // Act
+        topK.offer("small", 40);
+        topK.offer("big", 45);
+
+        // Assert
+        assertEquals(List.of(Map.entry("a", 50L), Map.entry("big", 45L)), topK.top());
+    }
+}
@@ -0,0 +1,52 @@
+package com.fnl33.featuretoggle.service.flightrecorder;
+
+import com.fnl33.featuretoggle.config.FlightRecorderProperties;
+import com.fnl33.featuretoggle.service.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecordingsTest {
+
+    private final FlightRecordings flightRecordings = new FlightRecordings(new FlightRecorderProperties());
+
+    @AfterEach
+    void tearDown() {
+        flightRecordings.shutdown();
+    }
+
+    @Test
+    void shouldRejectSettingsFileWhenRequested() {
+        // Act
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> flightRecordings.start(null, "/etc/passwd.jfc", null));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("Settings must be one of"));
+        assertTrue(flightRecordings.status().isEmpty());
+    }
+
+    @Test
+    void shouldRejectUnknownSettingsWhenRequested() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> flightRecordings.start(null, "../profile", null));
+    }
+
+    @Test
+    void shouldRecordWithBuiltInSettingsWhenRequested() throws Exception {
+        // Act
+        flightRecordings.start(null, "default", null);
+        final Optional<Path> file = flightRecordings.stop();
+
+        // Assert
+        assertTrue(file.isPresent());
+        assertTrue(Files.size(file.get()) > 0);
+        Files.deleteIfExists(file.get());
+    }
+}
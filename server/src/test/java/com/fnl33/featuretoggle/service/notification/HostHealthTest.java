@@ -0,0 +1,160 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostHealthTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(5).toNanos();
+
+    @Test
+    void shouldStayClosedWhenFailuresAreBelowMinimumCalls() {
+        // Arrange
+        final HostHealth health = newHealth();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertNull(health.record(false, FAST, NOW));
+        }
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, health.state());
+        assertTrue(health.tryAcquire(NOW));
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateCrossesThreshold() {
+        // Arrange
+        final HostHealth health = newHealth();
+
+        // Act
+        final CircuitState changed = tripOpen(health, NOW);
+
+        // Assert
+        assertEquals(CircuitState.OPEN, changed);
+        assertEquals(NOW.plusSeconds(10), health.openUntil());
+        assertFalse(health.tryAcquire(NOW.plusSeconds(9)));
+    }
+
+    @Test
+    void shouldCountSlowDeliveriesAsFailuresWhenRecording() {
+        // Arrange
+        final HostHealth health = newHealth();
+
+        // Act
+        CircuitState changed = null;
+        for (int i = 0; i < 5; i++) {
+            changed = health.record(true, SLOW, NOW);
+        }
+
+        // Assert
+        assertEquals(CircuitState.OPEN, changed);
+    }
+
+    @Test
+    void shouldLetOneProbeThroughWhenOpenPeriodElapsed() {
+        // Arrange
+        final HostHealth health = newHealth();
+        tripOpen(health, NOW);
+        final Instant later = NOW.plusSeconds(10);
+
+        // Act
+        final boolean probe = health.tryAcquire(later);
+        final boolean second = health.tryAcquire(later);
+
+        // Assert
+        assertTrue(probe);
+        assertFalse(second);
+        assertEquals(CircuitState.HALF_OPEN, health.state());
+    }
+
+    @Test
+    void shouldCloseAndStartOverWhenProbeSucceeds() {
+        // Arrange
+        final HostHealth health = newHealth();
+        tripOpen(health, NOW);
+        final Instant later = NOW.plusSeconds(10);
+        health.tryAcquire(later);
+
+        // Act
+        final CircuitState changed = health.record(true, FAST, later);
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, changed);
+        assertEquals(0.0, health.failureRate());
+        assertTrue(health.tryAcquire(later));
+        // The earlier failures are forgotten, so a single new failure does not reopen the circuit
+        assertNull(health.record(false, FAST, later));
+    }
+
+    @Test
+    void shouldReopenForTwiceAsLongWhenProbeFails() {
+        // Arrange
+        final HostHealth health = newHealth();
+        tripOpen(health, NOW);
+        final Instant later = NOW.plusSeconds(10);
+        health.tryAcquire(later);
+
+        // Act
+        final CircuitState changed = health.record(false, FAST, later);
+
+        // Assert
+        assertEquals(CircuitState.OPEN, changed);
+        assertEquals(later.plusSeconds(20), health.openUntil());
+        assertFalse(health.tryAcquire(later.plusSeconds(19)));
+    }
+
+    @Test
+    void shouldCapOpenPeriodWhenProbesKeepFailing() {
+        // Arrange
+        final HostHealth health = newHealth();
+        tripOpen(health, NOW);
+        Instant at = NOW;
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            at = health.openUntil();
+            health.tryAcquire(at);
+            health.record(false, FAST, at);
+        }
+
+        // Assert
+        assertEquals(at.plusSeconds(60), health.openUntil());
+    }
+
+    @Test
+    void shouldIgnoreInFlightDeliveriesWhenOpen() {
+        // Arrange
+        final HostHealth health = newHealth();
+        tripOpen(health, NOW);
+
+        // Act
+        final CircuitState changed = health.record(true, FAST, NOW);
+
+        // Assert
+        assertNull(changed);
+        assertEquals(CircuitState.OPEN, health.state());
+    }
+
+    // Opens after five calls at a 50% failure rate, for 10s doubling up to 60s
+    private static HostHealth newHealth() {
+        return new HostHealth(0.5, 5, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(60));
+    }
+
+    private static CircuitState tripOpen(HostHealth health, Instant now) {
+        CircuitState changed = null;
+        for (int i = 0; i < 5; i++) {
+            changed = health.record(false, FAST, now);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,230 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fnl33.featuretoggle.config.NotificationProperties;
+import com.fnl33.featuretoggle.domain.OutboxStatus;
+import com.fnl33.featuretoggle.repository.AllowListEntryRepository;
+import com.fnl33.featuretoggle.repository.ClientSubscription;
+import com.fnl33.featuretoggle.repository.NotificationOutboxRepository;
+import com.fnl33.featuretoggle.repository.ToggleRepository;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(NotificationOutboxRepository.class)
+// The poller runs its own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationOutboxPollerTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(10);
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private ToggleRepository toggleRepository;
+
+    @Autowired
+    private AllowListEntryRepository allowListEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final NotificationProperties properties = new NotificationProperties();
+    private HttpServer server;
+    private WebhookDispatcher dispatcher;
+    private UUID clientId;
+    private String callbackUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        callbackUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        jdbcTemplate.update("DELETE FROM client_registrations");
+        jdbcTemplate.update("DELETE FROM allow_list_entries");
+        jdbcTemplate.update("DELETE FROM toggles");
+        jdbcTemplate.update("DELETE FROM attributes");
+        final Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO attributes (name, data_type, created_at, updated_at) "
+                + "VALUES ('country', 'STRING', ?, ?)", now, now);
+        jdbcTemplate.update("INSERT INTO toggles (name, enabled, attribute_name, created_at, updated_at) "
+                + "VALUES ('checkout', TRUE, 'country', ?, ?)", now, now);
+        jdbcTemplate.update("INSERT INTO allow_list_entries (id, toggle_name, toggle_value) VALUES (?, 'checkout', 'US')",
+                UUID.randomUUID());
+        clientId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO client_registrations (id, callback_url, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?)", clientId, callbackUrl, now, now);
+        jdbcTemplate.update("INSERT INTO client_registration_toggles (client_registration_id, toggle_name) "
+                + "VALUES (?, 'checkout')", clientId);
+
+        properties.setInitialBackoff(INITIAL_BACKOFF);
+        properties.setMaxAttempts(3);
+        // Only the test for the open circuit lets failures trip it
+        properties.setCircuitMinimumCalls(100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void shouldDeleteRowAndSendCurrentStateWhenDelivered() {
+        // Arrange
+        final NotificationOutboxPoller poller = newPoller();
+        enqueue();
+
+        // Act
+        poller.poll();
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox", Integer.class));
+        assertEquals(1, received.size());
+        assertTrue(received.get(0).startsWith("{\"toggles\":[{"), received.get(0));
+        assertTrue(received.get(0).contains("\"checkout\""), received.get(0));
+        assertTrue(received.get(0).contains("\"US\""), received.get(0));
+    }
+
+    @Test
+    void shouldDoubleBackoffWhenDeliveryKeepsFailing() {
+        // Arrange
+        final NotificationOutboxPoller poller = newPoller();
+        responseStatus.set(500);
+        enqueue();
+
+        // Act
+        final Instant firstPoll = Instant.now();
+        poller.poll();
+        final Map<String, Object> afterFirst = row();
+        makeDue();
+        final Instant secondPoll = Instant.now();
+        poller.poll();
+        final Map<String, Object> afterSecond = row();
+
+        // Assert: initialBackoff * 2^(attempts - 1), less up to 20% jitter
+        assertEquals(OutboxStatus.PENDING.name(), afterFirst.get("status"));
+        assertEquals(1, afterFirst.get("attempts"));
+        assertEquals("HTTP 500", afterFirst.get("last_error"));
+        assertDueWithin(afterFirst, firstPoll, INITIAL_BACKOFF);
+        assertEquals(2, afterSecond.get("attempts"));
+        assertDueWithin(afterSecond, secondPoll, INITIAL_BACKOFF.multipliedBy(2));
+    }
+
+    @Test
+    void shouldDeadLetterWhenMaxAttemptsReached() {
+        // Arrange
+        final NotificationOutboxPoller poller = newPoller();
+        responseStatus.set(500);
+        enqueue();
+
+        // Act
+        for (int attempt = 0; attempt < properties.getMaxAttempts(); attempt++) {
+            makeDue();
+            poller.poll();
+        }
+        makeDue();
+        poller.poll();
+
+        // Assert
+        final Map<String, Object> row = row();
+        assertEquals(OutboxStatus.DEAD.name(), row.get("status"));
+        assertEquals(3, row.get("attempts"));
+        assertEquals(3, received.size());
+    }
+
+    @Test
+    void shouldPostponeWithoutAttemptWhenCircuitIsOpen() {
+        // Arrange
+        properties.setCircuitMinimumCalls(1);
+        final NotificationOutboxPoller poller = newPoller();
+        responseStatus.set(503);
+        enqueue();
+        poller.poll();
+
+        // Act
+        makeDue();
+        poller.poll();
+
+        // Assert
+        final Map<String, Object> row = row();
+        assertEquals(OutboxStatus.PENDING.name(), row.get("status"));
+        assertEquals(1, row.get("attempts"));
+        assertEquals(1, received.size());
+    }
+
+    private NotificationOutboxPoller newPoller() {
+        final MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+        final HostCircuitBreakers circuitBreakers = new HostCircuitBreakers(properties, metricsService);
+        dispatcher = new WebhookDispatcher(metricsService, circuitBreakers, properties);
+        return new NotificationOutboxPoller(outboxRepository, toggleRepository, allowListEntryRepository,
+                dispatcher, circuitBreakers, new ObjectMapper(), metricsService, properties, transactionManager);
+    }
+
+    private void enqueue() {
+        outboxRepository.enqueue(List.of(new ClientSubscription(clientId, callbackUrl, "checkout")),
+                Instant.now(), Instant.now());
+    }
+
+    private void makeDue() {
+        jdbcTemplate.update("UPDATE notification_outbox SET next_attempt_at = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)));
+    }
+
+    private Map<String, Object> row() {
+        final Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, attempts, next_attempt_at, last_error FROM notification_outbox");
+        final Map<String, Object> normalized = new HashMap<>();
+        row.forEach((column, value) -> normalized.put(column.toLowerCase(), value));
+        return normalized;
+    }
+
+    private static void assertDueWithin(Map<String, Object> row, Instant polledAt, Duration backoff) {
+        final Instant nextAttemptAt = ((Timestamp) row.get("next_attempt_at")).toInstant();
+        final Duration delay = Duration.between(polledAt, nextAttemptAt);
+        assertTrue(delay.compareTo(backoff.multipliedBy(4).dividedBy(5).minusSeconds(1)) >= 0, "delay " + delay);
+        assertTrue(delay.compareTo(backoff.plusSeconds(1)) <= 0, "delay " + delay);
+    }
+}
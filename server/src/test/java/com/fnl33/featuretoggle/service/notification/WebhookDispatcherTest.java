@@ -0,0 +1,219 @@
+package com.fnl33.featuretoggle.service.notification;
+
+import com.fnl33.featuretoggle.config.NotificationProperties;
+import com.fnl33.featuretoggle.service.MetricsService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebhookDispatcherTest {
+
+    private final NotificationProperties properties = new NotificationProperties();
+    private final MetricsService metricsService = new MetricsService(new SimpleMeterRegistry());
+    private final RecordingCircuitBreakers circuitBreakers = new RecordingCircuitBreakers(properties, metricsService);
+    private final AtomicInteger responseStatus = new AtomicInteger(204);
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private HttpServer server;
+    private WebhookDispatcher dispatcher;
+    private String callbackUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                received.add(exchange.getRequestMethod() + " "
+                        + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                release.await(10, TimeUnit.SECONDS);
+                exchange.sendResponseHeaders(responseStatus.get(), -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        callbackUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldPutBodyAndReportHealthyHostWhenResponseIs2xx() {
+        // Arrange
+        dispatcher = newDispatcher();
+
+        // Act
+        final DeliveryResult result = deliver(callbackUrl);
+
+        // Assert
+        assertTrue(result.delivered());
+        assertEquals(List.of("PUT {\"toggles\":[]}"), received);
+        assertEquals(List.of("127.0.0.1=true"), circuitBreakers.outcomes);
+    }
+
+    @Test
+    void shouldFailButReportHealthyHostWhenClientRejectsNotification() {
+        // Arrange
+        dispatcher = newDispatcher();
+        responseStatus.set(404);
+
+        // Act
+        final DeliveryResult result = deliver(callbackUrl);
+
+        // Assert
+        assertFalse(result.delivered());
+        assertEquals("HTTP 404", result.error());
+        assertEquals(List.of("127.0.0.1=true"), circuitBreakers.outcomes);
+    }
+
+    @Test
+    void shouldFailAndReportUnhealthyHostWhenResponseIs5xx() {
+        // Arrange
+        dispatcher = newDispatcher();
+        responseStatus.set(503);
+
+        // Act
+        final DeliveryResult result = deliver(callbackUrl);
+
+        // Assert
+        assertFalse(result.delivered());
+        assertEquals("HTTP 503", result.error());
+        assertEquals(List.of("127.0.0.1=false"), circuitBreakers.outcomes);
+    }
+
+    @Test
+    void shouldReportUnhealthyHostWhenConnectionIsRefused() throws IOException {
+        // Arrange
+        dispatcher = newDispatcher();
+        final int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        // Act
+        final DeliveryResult result = deliver("http://127.0.0.1:" + closedPort + "/hook");
+
+        // Assert
+        assertFalse(result.delivered());
+        assertEquals(List.of("127.0.0.1=false"), circuitBreakers.outcomes);
+    }
+
+    @Test
+    void shouldFailWithoutSendingWhenUrlHasNoHost() {
+        // Arrange
+        dispatcher = newDispatcher();
+
+        // Act
+        final DeliveryResult noHost = deliver("file:///tmp/hook");
+        final DeliveryResult invalid = deliver("http://bad host/hook");
+
+        // Assert
+        assertEquals("Callback URL has no host", noHost.error());
+        assertEquals("Invalid callback URL", invalid.error());
+        assertTrue(received.isEmpty());
+        assertTrue(circuitBreakers.outcomes.isEmpty());
+    }
+
+    @Test
+    void shouldCapConcurrentDeliveriesWhenSendingToOneHost() {
+        // Arrange
+        properties.setMaxConcurrencyPerHost(2);
+        dispatcher = newDispatcher();
+        release = new CountDownLatch(1);
+
+        // Act
+        final List<CompletableFuture<DeliveryResult>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            results.add(dispatcher.deliver(callbackUrl, "{}".getBytes(StandardCharsets.UTF_8), List.of("t" + i)));
+        }
+        waitUntil(() -> concurrent.get() == 2);
+        // Give deliveries beyond the cap a chance to get through if it did not hold
+        sleep(200);
+        final int whileBlocked = concurrent.get();
+        release.countDown();
+        results.forEach(CompletableFuture::join);
+
+        // Assert
+        assertEquals(2, whileBlocked);
+        assertEquals(2, maxConcurrent.get());
+        assertEquals(6, received.size());
+        assertTrue(results.stream().allMatch(result -> result.join().delivered()));
+    }
+
+    private WebhookDispatcher newDispatcher() {
+        return new WebhookDispatcher(metricsService, circuitBreakers, properties);
+    }
+
+    private DeliveryResult deliver(String url) {
+        return dispatcher.deliver(url, "{\"toggles\":[]}".getBytes(StandardCharsets.UTF_8), List.of("checkout")).join();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            sleep(10);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Records outcomes instead of keeping host health
+    private static final class RecordingCircuitBreakers extends HostCircuitBreakers {
+
+        private final List<String> outcomes = new CopyOnWriteArrayList<>();
+
+        RecordingCircuitBreakers(NotificationProperties properties, MetricsService metricsService) {
+            super(properties, metricsService);
+        }
+
+        @Override
+        public void record(String host, boolean success, long durationNanos) {
+            outcomes.add(host + "=" + success);
+        }
+    }
+}